@@ -0,0 +1,28 @@
+package com.example.phoenix.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}: the standard JMH command line with
+ * the GC profiler always on, so every result carries its allocation rate
+ * ({@code gc.alloc.rate.norm}, bytes per operation) next to the throughput.
+ * <p>
+ * {@code java -jar phoenix-benchmarks/target/benchmarks.jar [regexp] [JMH options]}
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
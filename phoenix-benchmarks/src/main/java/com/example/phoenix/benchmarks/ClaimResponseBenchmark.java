@@ -0,0 +1,82 @@
+package com.example.phoenix.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.phoenix.benchmarks.Corpus.Size;
+import com.example.phoenix.dto.ClaimResponse;
+import com.example.phoenix.model.Claim;
+import com.example.phoenix.service.ClaimService;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * The response path of {@code GET /api/claims/{id}} and of each line of
+ * {@code /api/claims/export}: {@link ClaimService#mapToResponse} followed by
+ * JSON serialization with the Jackson 3 mapper Spring MVC uses. The long
+ * agent outputs (rationale, thought) dominate the payload, so {@code size}
+ * scales them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClaimResponseBenchmark {
+
+    private static final int CORPUS_SIZE = 64;
+
+    @Param({ "SHORT", "TYPICAL", "LONG" })
+    private Size size;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<Claim> claims;
+    private List<ClaimResponse> responses;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        claims = new ArrayList<>(CORPUS_SIZE);
+        responses = new ArrayList<>(CORPUS_SIZE);
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            Claim claim = Corpus.claim(10_000 + i, size);
+            claims.add(claim);
+            responses.add(ClaimService.mapToResponse(claim));
+        }
+    }
+
+    @Benchmark
+    public ClaimResponse mapToResponse() {
+        return ClaimService.mapToResponse(claims.get(advance()));
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonMapper.writeValueAsBytes(responses.get(advance()));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() {
+        return jsonMapper.writeValueAsBytes(ClaimService.mapToResponse(claims.get(advance())));
+    }
+
+    private int advance() {
+        int current = next;
+        next = (next + 1) % CORPUS_SIZE;
+        return current;
+    }
+}
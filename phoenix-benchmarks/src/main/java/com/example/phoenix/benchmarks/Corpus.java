@@ -0,0 +1,225 @@
+package com.example.phoenix.benchmarks;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.example.phoenix.config.constant.EnrichmentStatus;
+import com.example.phoenix.model.Claim;
+
+/**
+ * Deterministic, realistic payloads for the benchmarks: claim descriptions
+ * built from adjuster-style sentences (optionally seeded with PII), fraud
+ * agent answers in the formats models actually produce, Debezium envelopes
+ * for the {@code claims} table and clustered embedding vectors. The same seed always yields the
+ * same corpus, so runs are comparable.
+ */
+final class Corpus {
+
+    /** Description sizes seen in production: web form, typical filing, pasted police report. */
+    enum Size {
+        SHORT(160), TYPICAL(1_200), LONG(12_000);
+
+        final int chars;
+
+        Size(int chars) {
+            this.chars = chars;
+        }
+    }
+
+    private static final String[] SENTENCES = {
+            "Rear-ended at a red light on Route 9 while stationary, the other driver admitted fault at the scene.",
+            "Water damage in the finished basement after the sump pump failed during the overnight storm.",
+            "Claimant reports the laptop and two cameras were stolen from a locked vehicle in a mall parking lot.",
+            "Hail dented the roof and hood; the body shop estimate lists panel replacement and repainting.",
+            "Kitchen fire started at the stove, smoke damage extends to the dining room ceiling and cabinets.",
+            "Slip and fall in the grocery store aisle, ambulance transport and two nights of observation billed.",
+            "The tenant upstairs left a bath running; ceiling drywall collapsed onto the living room furniture.",
+            "Windshield cracked by debris from a truck on the interstate, replacement quoted at a dealer.",
+            "Burglary while on vacation, jewelry valued at $14,500 listed with receipts for only part of it.",
+            "Tree fell on the detached garage in high winds; the car inside was not damaged per the claimant.",
+            "Third claim this year for the same address, each reported within days of the policy renewal.",
+            "Police report number attached, the witness statement contradicts the time of loss on the form.",
+    };
+
+    private static final String[] PII = {
+            " Contact john.doe%d@example.com for follow-up.",
+            " Claimant SSN 123-45-%04d on file.",
+            " Policy POL-%06d covers the vehicle.",
+            " Alternate SSN given as 98765%04d by phone.",
+    };
+
+    // Debezium JSON converter schema for the claims table, sent with every message when schemas are enabled
+    private static final String SCHEMA;
+
+    static {
+        String[][] columns = { { "int32", "id", "false" }, { "string", "description", "true" },
+                { "string", "summary", "true" }, { "string", "status", "true" }, { "string", "ai_provider", "true" },
+                { "double", "ai_temperature", "true" }, { "int32", "fraud_score", "true" },
+                { "string", "fraud_analysis", "true" }, { "string", "fraud_rationale", "true" },
+                { "string", "fraud_thought", "true" }, { "int64", "created_at", "true" },
+                { "string", "enrichment_status", "true" }, { "int64", "near_duplicate_of", "true" } };
+        StringBuilder fields = new StringBuilder();
+        for (String[] column : columns) {
+            if (!fields.isEmpty()) {
+                fields.append(',');
+            }
+            fields.append("{\"type\":\"%s\",\"optional\":%s,\"field\":\"%s\"}".formatted(column[0], column[2],
+                    column[1]));
+        }
+        String value = "{\"type\":\"struct\",\"fields\":[" + fields + "],\"optional\":true,"
+                + "\"name\":\"phoenix.public.claims.Value\",\"field\":\"%s\"}";
+        SCHEMA = "{\"type\":\"struct\",\"fields\":[" + value.formatted("before") + "," + value.formatted("after")
+                + ",{\"type\":\"struct\",\"fields\":[{\"type\":\"string\",\"optional\":false,\"field\":\"version\"},"
+                + "{\"type\":\"string\",\"optional\":false,\"field\":\"connector\"},"
+                + "{\"type\":\"int64\",\"optional\":false,\"field\":\"ts_ms\"},"
+                + "{\"type\":\"string\",\"optional\":false,\"field\":\"table\"}],"
+                + "\"optional\":false,\"name\":\"io.debezium.connector.postgresql.Source\",\"field\":\"source\"},"
+                + "{\"type\":\"string\",\"optional\":false,\"field\":\"op\"},"
+                + "{\"type\":\"int64\",\"optional\":true,\"field\":\"ts_ms\"}],"
+                + "\"optional\":false,\"name\":\"phoenix.public.claims.Envelope\",\"version\":2}";
+    }
+
+    private Corpus() {
+    }
+
+    static String description(Size size, boolean withPii, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder(size.chars + 128);
+        while (text.length() < size.chars) {
+            if (!text.isEmpty()) {
+                text.append(' ');
+            }
+            text.append(SENTENCES[random.nextInt(SENTENCES.length)]);
+            // Roughly one PII fragment per 400 characters, as in real free-text filings
+            if (withPii && random.nextInt(4) == 0) {
+                text.append(PII[random.nextInt(PII.length)].formatted(random.nextInt(10_000)));
+            }
+        }
+        return text.toString();
+    }
+
+    static List<String> descriptions(Size size, boolean withPii, int count) {
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(description(size, withPii, 31L * i + size.ordinal()));
+        }
+        return result;
+    }
+
+    /** Fraud agent answers in the shapes models produce; rationale length follows {@code size}. */
+    enum AnswerFormat {
+        /** The requested THOUGHT/SCORE/ANALYSIS/RATIONALE layout. */
+        STRICT,
+        /** Markdown headers, a dash separator and sections out of order. */
+        MARKDOWN,
+        /** Structured output inside a code fence. */
+        JSON
+    }
+
+    static String fraudAnswer(AnswerFormat format, Size size, long seed) {
+        Random random = new Random(seed);
+        int score = random.nextInt(101);
+        String thought = "The claim describes " + SENTENCES[random.nextInt(SENTENCES.length)].toLowerCase()
+                + " I searched historical claims for the same address and incident type.";
+        String analysis = score > 60 ? "Pattern matches prior staged losses." : "Consistent with a genuine loss.";
+        String rationale = description(size, false, seed + 1);
+        return switch (format) {
+            case STRICT -> """
+                    THOUGHT: %s
+                    SCORE: %d
+                    ANALYSIS: %s
+                    RATIONALE: %s
+                    """.formatted(thought, score, analysis, rationale);
+            case MARKDOWN -> """
+                    Here is my assessment.
+
+                    **THOUGHT:** %s
+
+                    **ANALYSIS:** %s
+
+                    **SCORE** - %d
+
+                    **RATIONALE:**
+                    %s
+                    """.formatted(thought, analysis, score, rationale);
+            case JSON -> """
+                    ```json
+                    {"score": %d, "analysis": "%s", "rationale": "%s", "thought": "%s"}
+                    ```""".formatted(score, analysis, jsonEscape(rationale), jsonEscape(thought));
+        };
+    }
+
+    static Claim claim(long id, Size size) {
+        return Claim.builder()
+                .id(id)
+                .description(description(size, false, id))
+                .summary("Rear-end collision at a red light; other driver admitted fault.")
+                .status("OPEN")
+                .aiProvider("ollama")
+                .aiTemperature(0.3)
+                .fraudScore((int) (id % 101))
+                .fraudAnalysis("Consistent with a genuine loss.")
+                .fraudRationale(description(size, false, id + 7))
+                .fraudThought("Searched historical claims for the same address; no prior losses found.")
+                .enrichmentStatus(EnrichmentStatus.ENRICHED)
+                .createdAt(LocalDateTime.of(2026, 3, 14, 9, 26, 53))
+                .build();
+    }
+
+    /**
+     * A Debezium update event for one claim row as the JSON converter emits it,
+     * with or without the {@code schema} block (which dominates the message size).
+     */
+    static String debeziumEnvelope(long id, Size size, boolean withSchema) {
+        String before = row(id, description(size, false, id), null);
+        String after = row(id, description(size, false, id), "Rear-end collision at a red light.");
+        long tsMs = LocalDateTime.of(2026, 3, 14, 9, 27).toInstant(ZoneOffset.UTC).toEpochMilli();
+        String payload = """
+                {"before":%s,"after":%s,"source":{"version":"2.7.3.Final","connector":"postgresql",\
+                "name":"phoenix","ts_ms":%d,"snapshot":"false","db":"phoenix","sequence":"[\\"24023128\\",\\"24023184\\"]",\
+                "schema":"public","table":"claims","txId":771,"lsn":24023184,"xmin":null},\
+                "op":"u","ts_ms":%d,"transaction":null}""".formatted(before, after, tsMs, tsMs + 12);
+        return withSchema ? "{\"schema\":" + SCHEMA + ",\"payload\":" + payload + "}" : payload;
+    }
+
+    private static String row(long id, String description, String summary) {
+        return """
+                {"id":%d,"description":"%s","summary":%s,"status":"OPEN","ai_provider":"ollama",\
+                "ai_temperature":0.3,"fraud_score":-1,"fraud_analysis":null,"fraud_rationale":null,\
+                "fraud_thought":null,"created_at":1773480413000000,"enrichment_status":"PENDING",\
+                "near_duplicate_of":null}""".formatted(id, jsonEscape(description),
+                summary == null ? "null" : "\"" + jsonEscape(summary) + "\"");
+    }
+
+    /**
+     * Embedding-like vectors: gaussian noise around a few dozen topic centroids.
+     * Uniform random vectors have no neighbourhood structure, which makes any
+     * ANN index look far worse than on real embeddings.
+     */
+    static float[][] embeddings(int count, int dimensions, long seed) {
+        // Fixed topics, so vectors and queries drawn with different seeds share a neighbourhood structure
+        Random topics = new Random(0);
+        float[][] centroids = new float[50][dimensions];
+        for (float[] centroid : centroids) {
+            for (int j = 0; j < dimensions; j++) {
+                centroid[j] = (float) topics.nextGaussian();
+            }
+        }
+        Random random = new Random(seed);
+        float[][] vectors = new float[count][dimensions];
+        for (float[] vector : vectors) {
+            float[] centroid = centroids[random.nextInt(centroids.length)];
+            for (int j = 0; j < dimensions; j++) {
+                vector[j] = centroid[j] + (float) random.nextGaussian() * 0.5f;
+            }
+        }
+        return vectors;
+    }
+
+    private static String jsonEscape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.phoenix.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.phoenix.benchmarks.Corpus.Size;
+import com.example.phoenix.model.ClaimChangeEvent;
+import com.example.phoenix.service.DebeziumEnvelopeParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Debezium envelope parsing at the top of {@code ClaimProcessor.processClaimUpdate}:
+ * the streaming {@link DebeziumEnvelopeParser} against the {@code readTree}
+ * approach it replaced. The {@code schema} block roughly doubles small
+ * messages, which is where skipping it instead of building a tree pays off.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DebeziumEnvelopeBenchmark {
+
+    private static final int CORPUS_SIZE = 64;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({ "SHORT", "TYPICAL", "LONG" })
+    private Size size;
+
+    @Param({ "true", "false" })
+    private boolean withSchema;
+
+    private final DebeziumEnvelopeParser parser = new DebeziumEnvelopeParser();
+    private List<String> messages;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        messages = new ArrayList<>(CORPUS_SIZE);
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            String message = Corpus.debeziumEnvelope(1_000 + i, size, withSchema);
+            // Both paths must agree on the claim id, or the comparison is meaningless
+            if (parser.parse(message).claimId() != readTree(message)) {
+                throw new IllegalStateException("Parsers disagree on message " + i);
+            }
+            messages.add(message);
+        }
+    }
+
+    @Benchmark
+    public ClaimChangeEvent streamingParser() throws IOException {
+        return parser.parse(nextMessage());
+    }
+
+    @Benchmark
+    public long readTree() throws IOException {
+        return readTree(nextMessage());
+    }
+
+    private String nextMessage() {
+        String message = messages.get(next);
+        next = (next + 1) % CORPUS_SIZE;
+        return message;
+    }
+
+    /** The pre-streaming code path: build the whole tree, then navigate to after.id. */
+    private static long readTree(String message) throws IOException {
+        JsonNode root = MAPPER.readTree(message);
+        JsonNode payload = root.has("payload") ? root.get("payload") : root;
+        return payload.get("after").get("id").asLong();
+    }
+}
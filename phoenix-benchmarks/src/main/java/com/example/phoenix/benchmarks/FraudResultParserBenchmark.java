@@ -0,0 +1,67 @@
+package com.example.phoenix.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.phoenix.benchmarks.Corpus.AnswerFormat;
+import com.example.phoenix.benchmarks.Corpus.Size;
+import com.example.phoenix.model.FraudResult;
+import com.example.phoenix.service.FraudResultParser;
+
+/**
+ * {@link FraudResultParser#parse}, which {@code ClaimProcessor.parseAndValidate}
+ * runs on every fraud agent answer (it replaced the regex-based
+ * {@code extractFlexibly}). The rationale length follows {@code size}, since
+ * that is what grows with the model and the claim.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FraudResultParserBenchmark {
+
+    private static final int CORPUS_SIZE = 64;
+
+    @Param({ "STRICT", "MARKDOWN", "JSON" })
+    private AnswerFormat format;
+
+    @Param({ "SHORT", "TYPICAL", "LONG" })
+    private Size size;
+
+    private List<String> answers;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        answers = new ArrayList<>(CORPUS_SIZE);
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            String answer = Corpus.fraudAnswer(format, size, i);
+            if (FraudResultParser.parse(answer) == null) {
+                throw new IllegalStateException("Corpus answer does not parse: " + answer);
+            }
+            answers.add(answer);
+        }
+    }
+
+    @Benchmark
+    public FraudResult parse() {
+        String answer = answers.get(next);
+        next = (next + 1) % CORPUS_SIZE;
+        return FraudResultParser.parse(answer);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.phoenix.benchmarks;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.phoenix.service.HnswIndex;
+
+/**
+ * Query latency of the in-memory {@link HnswIndex} behind the
+ * {@code inmemory} vector store, against the exact scan it replaces. Recall@k
+ * for each {@code ef} is measured once in setup and printed with the run, so
+ * latency and accuracy can be read side by side.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class HnswIndexBenchmark {
+
+    private static final int K = 10;
+    private static final int QUERIES = 200;
+
+    @Param({ "10000" })
+    private int vectors;
+
+    // nomic-embed-text (Ollama) produces 768 dimensions
+    @Param({ "768" })
+    private int dimensions;
+
+    @Param({ "16", "64", "200" })
+    private int ef;
+
+    private HnswIndex index;
+    private float[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        index = new HnswIndex(dimensions, 16, 100, 42);
+        for (float[] vector : Corpus.embeddings(vectors, dimensions, 1)) {
+            index.add(vector);
+        }
+        queries = Corpus.embeddings(QUERIES, dimensions, 9);
+
+        double hits = 0;
+        for (float[] query : queries) {
+            Set<Integer> exact = new HashSet<>();
+            index.bruteForce(query, K, null).forEach(result -> exact.add(result.node()));
+            for (HnswIndex.Result result : index.search(query, K, ef, null)) {
+                if (exact.contains(result.node())) {
+                    hits++;
+                }
+            }
+        }
+        System.out.printf("%nrecall@%d at ef=%d: %.3f%n", K, ef, hits / (QUERIES * K));
+    }
+
+    @Benchmark
+    public List<HnswIndex.Result> search() {
+        return index.search(nextQuery(), K, ef, null);
+    }
+
+    @Benchmark
+    public List<HnswIndex.Result> bruteForce() {
+        return index.bruteForce(nextQuery(), K, null);
+    }
+
+    private float[] nextQuery() {
+        float[] query = queries[next];
+        next = (next + 1) % QUERIES;
+        return query;
+    }
+}
@@ -12,6 +12,9 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import com.example.phoenix.listener.ClaimDispatcher;
 
 @Configuration
 @EnableKafka
@@ -26,6 +29,18 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.auto-offset-reset:earliest}")
     private String autoOffsetReset;
 
+    // Upper bound on records handed to the batch listener per poll
+    @Value("${phoenix.kafka.max-poll-records:500}")
+    private int maxPollRecords;
+
+    // Number of consumer threads; only useful up to the partition count of the topic
+    @Value("${phoenix.kafka.concurrency:1}")
+    private int concurrency;
+
+    // Parallel enrichment commits offsets itself, once all earlier records of a partition are done
+    @Value("${phoenix.enrichment.parallel.enabled:false}")
+    private boolean parallelEnrichment;
+
     @Bean
     public ConsumerFactory<String, String> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -34,14 +49,45 @@ public class KafkaConfig {
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, !parallelEnrichment);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
         return new DefaultKafkaConsumerFactory<>(props);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory(
+            ClaimDispatcher claimDispatcher) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        configureOffsetHandling(factory, claimDispatcher);
+        return factory;
+    }
+
+    /**
+     * Container factory for {@code phoenix.kafka.listener.mode=batch}.
+     * Each poll (up to {@code max.poll.records}) is delivered as a single list.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory(
+            ClaimDispatcher claimDispatcher) {
         ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        configureOffsetHandling(factory, claimDispatcher);
         return factory;
     }
+
+    private void configureOffsetHandling(ConcurrentKafkaListenerContainerFactory<String, String> factory,
+            ClaimDispatcher claimDispatcher) {
+        if (!parallelEnrichment) {
+            return;
+        }
+        ContainerProperties props = factory.getContainerProperties();
+        // Nothing is acknowledged, so the container never commits; ClaimDispatcher does
+        props.setAckMode(ContainerProperties.AckMode.MANUAL);
+        props.setConsumerRebalanceListener(claimDispatcher.rebalanceListener());
+        props.setIdleEventInterval(5000L);
+    }
 }
@@ -1,5 +1,7 @@
 package com.example.phoenix.config;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -17,7 +19,15 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.phoenix.config.constant.VectorIndexType;
+import com.example.phoenix.config.constant.VectorQuantization;
+import com.example.phoenix.service.EmbeddingCache;
+import com.example.phoenix.service.HnswVectorStore;
+import com.example.phoenix.service.QuantizedPgVectorStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
 import io.weaviate.client.Config;
 import io.weaviate.client.WeaviateClient;
 
@@ -26,6 +36,78 @@ public class VectorStoreConfig {
 
     private static final Logger log = LoggerFactory.getLogger(VectorStoreConfig.class);
 
+    private final EmbeddingCache embeddingCache;
+
+    // Part of the embedding cache key, so switching models never serves stale vectors
+    @Value("${spring.ai.ollama.embedding.options.model:nomic-embed-text}")
+    private String ollamaEmbeddingModelName;
+
+    @Value("${spring.ai.vertex.ai.embedding.text.options.model:text-embedding-005}")
+    private String geminiEmbeddingModelName;
+
+    @Value("${spring.ai.openai.embedding.options.model:text-embedding-ada-002}")
+    private String openaiEmbeddingModelName;
+
+    // In-process HNSW settings (phoenix.vector-store.mode=inmemory)
+    @Value("${phoenix.vector-store.inmemory.dir:data/vector-store}")
+    private Path inMemoryDir;
+
+    @Value("${phoenix.vector-store.inmemory.m:16}")
+    private int hnswM;
+
+    @Value("${phoenix.vector-store.inmemory.ef-construction:100}")
+    private int hnswEfConstruction;
+
+    @Value("${phoenix.vector-store.inmemory.ef-search:64}")
+    private int hnswEfSearch;
+
+    @Value("${phoenix.vector-store.inmemory.snapshot-interval:30s}")
+    private Duration snapshotInterval;
+
+    // Quantized pgvector settings (phoenix.vector-store.mode=pgvector-quantized)
+    @Value("${phoenix.vector-store.pgvector.quantization:halfvec}")
+    private String pgQuantization;
+
+    @Value("${phoenix.vector-store.pgvector.index-type:hnsw}")
+    private String pgIndexType;
+
+    @Value("${phoenix.vector-store.pgvector.hnsw.m:16}")
+    private int pgHnswM;
+
+    @Value("${phoenix.vector-store.pgvector.hnsw.ef-construction:64}")
+    private int pgHnswEfConstruction;
+
+    @Value("${phoenix.vector-store.pgvector.hnsw.ef-search:100}")
+    private int pgHnswEfSearch;
+
+    @Value("${phoenix.vector-store.pgvector.ivfflat.lists:100}")
+    private int pgIvfflatLists;
+
+    @Value("${phoenix.vector-store.pgvector.ivfflat.probes:10}")
+    private int pgIvfflatProbes;
+
+    @Value("${phoenix.vector-store.pgvector.rescore-factor:4}")
+    private int pgRescoreFactor;
+
+    @Value("${phoenix.vector-store.pgvector.recall-sample-rate:0.01}")
+    private double pgRecallSampleRate;
+
+    public VectorStoreConfig(EmbeddingCache embeddingCache) {
+        this.embeddingCache = embeddingCache;
+    }
+
+    private EmbeddingModel ollamaEmbeddings(EmbeddingModel embeddingModel) {
+        return embeddingCache.wrap(embeddingModel, "ollama", ollamaEmbeddingModelName);
+    }
+
+    private EmbeddingModel geminiEmbeddings(EmbeddingModel embeddingModel) {
+        return embeddingCache.wrap(embeddingModel, "gemini", geminiEmbeddingModelName);
+    }
+
+    private EmbeddingModel openaiEmbeddings(EmbeddingModel embeddingModel) {
+        return embeddingCache.wrap(embeddingModel, "openai", openaiEmbeddingModelName);
+    }
+
     // --- Weaviate Client ---
 
     @Bean
@@ -45,7 +127,7 @@ public class VectorStoreConfig {
             WeaviateClient weaviateClient,
             @Qualifier("ollamaEmbeddingModel") EmbeddingModel embeddingModel) {
         log.info("Configuring Ollama VectorStore with Weaviate");
-        return WeaviateVectorStore.builder(weaviateClient, embeddingModel).build();
+        return WeaviateVectorStore.builder(weaviateClient, ollamaEmbeddings(embeddingModel)).build();
     }
 
     @Bean
@@ -55,7 +137,7 @@ public class VectorStoreConfig {
             WeaviateClient weaviateClient,
             @Qualifier("textEmbedding") EmbeddingModel embeddingModel) {
         log.info("Configuring Gemini VectorStore with Weaviate");
-        return WeaviateVectorStore.builder(weaviateClient, embeddingModel).build();
+        return WeaviateVectorStore.builder(weaviateClient, geminiEmbeddings(embeddingModel)).build();
     }
 
     @Bean
@@ -65,7 +147,7 @@ public class VectorStoreConfig {
             WeaviateClient weaviateClient,
             @Qualifier("openAiEmbeddingModel") EmbeddingModel embeddingModel) {
         log.info("Configuring OpenAI VectorStore with Weaviate");
-        return WeaviateVectorStore.builder(weaviateClient, embeddingModel).build();
+        return WeaviateVectorStore.builder(weaviateClient, openaiEmbeddings(embeddingModel)).build();
     }
 
     // --- PGVector Implementation ---
@@ -77,7 +159,7 @@ public class VectorStoreConfig {
             JdbcTemplate jdbcTemplate,
             @Qualifier("ollamaEmbeddingModel") EmbeddingModel embeddingModel) {
         log.info("Configuring Ollama VectorStore with PGVector (768 dim)");
-        return PgVectorStore.builder(jdbcTemplate, embeddingModel)
+        return PgVectorStore.builder(jdbcTemplate, ollamaEmbeddings(embeddingModel))
                 .dimensions(768)
                 .initializeSchema(true)
                 .build();
@@ -90,7 +172,7 @@ public class VectorStoreConfig {
             JdbcTemplate jdbcTemplate,
             @Qualifier("textEmbedding") EmbeddingModel embeddingModel) {
         log.info("Configuring Gemini VectorStore with PGVector (768 dim)");
-        return PgVectorStore.builder(jdbcTemplate, embeddingModel)
+        return PgVectorStore.builder(jdbcTemplate, geminiEmbeddings(embeddingModel))
                 .dimensions(768)
                 .initializeSchema(true)
                 .build();
@@ -103,12 +185,90 @@ public class VectorStoreConfig {
             JdbcTemplate jdbcTemplate,
             @Qualifier("openAiEmbeddingModel") EmbeddingModel embeddingModel) {
         log.info("Configuring OpenAI VectorStore with PGVector (1536 dim)");
-        return PgVectorStore.builder(jdbcTemplate, embeddingModel)
+        return PgVectorStore.builder(jdbcTemplate, openaiEmbeddings(embeddingModel))
                 .dimensions(1536)
                 .initializeSchema(true)
                 .build();
     }
 
+    // --- Quantized PGVector Implementation ---
+
+    private QuantizedPgVectorStore quantizedPgStore(String name, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, EmbeddingModel embeddingModel, int dimensions,
+            MeterRegistry meterRegistry) {
+        QuantizedPgVectorStore.IndexSettings settings = new QuantizedPgVectorStore.IndexSettings(
+                VectorQuantization.valueOf(pgQuantization.toUpperCase()),
+                VectorIndexType.valueOf(pgIndexType.toUpperCase()),
+                pgHnswM, pgHnswEfConstruction, pgHnswEfSearch, pgIvfflatLists, pgIvfflatProbes,
+                pgRescoreFactor, pgRecallSampleRate);
+        return new QuantizedPgVectorStore(name, jdbcTemplate, transactionTemplate, embeddingModel, dimensions,
+                settings, meterRegistry);
+    }
+
+    @Bean
+    @Qualifier("ollamaVectorStore")
+    @ConditionalOnProperty(name = "phoenix.vector-store.mode", havingValue = "pgvector-quantized")
+    public VectorStore ollamaQuantizedPgVectorStore(
+            JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+            @Qualifier("ollamaEmbeddingModel") EmbeddingModel embeddingModel) {
+        log.info("Configuring Ollama VectorStore with quantized PGVector ({}, {})", pgQuantization, pgIndexType);
+        return quantizedPgStore("ollama", jdbcTemplate, transactionTemplate, ollamaEmbeddings(embeddingModel), 768,
+                meterRegistry);
+    }
+
+    @Bean
+    @Qualifier("geminiVectorStore")
+    @ConditionalOnProperty(name = "phoenix.vector-store.mode", havingValue = "pgvector-quantized")
+    public VectorStore geminiQuantizedPgVectorStore(
+            JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+            @Qualifier("textEmbedding") EmbeddingModel embeddingModel) {
+        log.info("Configuring Gemini VectorStore with quantized PGVector ({}, {})", pgQuantization, pgIndexType);
+        return quantizedPgStore("gemini", jdbcTemplate, transactionTemplate, geminiEmbeddings(embeddingModel), 768,
+                meterRegistry);
+    }
+
+    @Bean
+    @Qualifier("openaiVectorStore")
+    @ConditionalOnProperty(name = "phoenix.vector-store.mode", havingValue = "pgvector-quantized")
+    public VectorStore openaiQuantizedPgVectorStore(
+            JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+            @Qualifier("openAiEmbeddingModel") EmbeddingModel embeddingModel) {
+        log.info("Configuring OpenAI VectorStore with quantized PGVector ({}, {})", pgQuantization, pgIndexType);
+        return quantizedPgStore("openai", jdbcTemplate, transactionTemplate, openaiEmbeddings(embeddingModel), 1536,
+                meterRegistry);
+    }
+
+    // --- In-Memory HNSW Implementation ---
+
+    private HnswVectorStore inMemoryStore(String name, EmbeddingModel embeddingModel) {
+        return new HnswVectorStore(name, embeddingModel, inMemoryDir.resolve(name + ".hnsw"),
+                hnswM, hnswEfConstruction, hnswEfSearch, snapshotInterval);
+    }
+
+    @Bean
+    @Qualifier("ollamaVectorStore")
+    @ConditionalOnProperty(name = "phoenix.vector-store.mode", havingValue = "inmemory")
+    public VectorStore ollamaInMemoryStore(@Qualifier("ollamaEmbeddingModel") EmbeddingModel embeddingModel) {
+        log.info("Configuring Ollama VectorStore with in-process HNSW");
+        return inMemoryStore("ollama", ollamaEmbeddings(embeddingModel));
+    }
+
+    @Bean
+    @Qualifier("geminiVectorStore")
+    @ConditionalOnProperty(name = "phoenix.vector-store.mode", havingValue = "inmemory")
+    public VectorStore geminiInMemoryStore(@Qualifier("textEmbedding") EmbeddingModel embeddingModel) {
+        log.info("Configuring Gemini VectorStore with in-process HNSW");
+        return inMemoryStore("gemini", geminiEmbeddings(embeddingModel));
+    }
+
+    @Bean
+    @Qualifier("openaiVectorStore")
+    @ConditionalOnProperty(name = "phoenix.vector-store.mode", havingValue = "inmemory")
+    public VectorStore openaiInMemoryStore(@Qualifier("openAiEmbeddingModel") EmbeddingModel embeddingModel) {
+        log.info("Configuring OpenAI VectorStore with in-process HNSW");
+        return inMemoryStore("openai", openaiEmbeddings(embeddingModel));
+    }
+
     @Bean
     @ConditionalOnProperty(name = "phoenix.vector-store.mode", havingValue = "weaviate", matchIfMissing = true)
     public CommandLineRunner initializeWeaviateSchema(
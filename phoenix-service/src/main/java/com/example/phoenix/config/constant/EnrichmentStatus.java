@@ -0,0 +1,5 @@
+package com.example.phoenix.config.constant;
+
+public enum EnrichmentStatus {
+    PENDING, ENRICHING, ENRICHED, FAILED
+}
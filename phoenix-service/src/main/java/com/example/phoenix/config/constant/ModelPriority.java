@@ -0,0 +1,6 @@
+package com.example.phoenix.config.constant;
+
+/** Queue order of model calls in the worker pool, highest first. */
+public enum ModelPriority {
+    HIGH, NORMAL
+}
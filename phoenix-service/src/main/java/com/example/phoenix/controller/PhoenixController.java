@@ -1,41 +1,120 @@
 package com.example.phoenix.controller;
 
+import com.example.phoenix.config.constant.AiProvider;
+import com.example.phoenix.dto.ClaimRequest;
 import com.example.phoenix.dto.ClaimResponse;
+import com.example.phoenix.dto.ClaimSummary;
+import com.example.phoenix.service.ClaimEventBroadcaster;
 import com.example.phoenix.service.ClaimService;
+import com.example.phoenix.service.ModelWorkerPool;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = "X-Next-Cursor")
 public class PhoenixController {
 
     private static final Logger log = LoggerFactory.getLogger(PhoenixController.class);
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    // Reads a top-level JSON array or whitespace/newline-separated objects (NDJSON) alike, one at a time
+    private static final ObjectReader CLAIM_READER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(ClaimRequest.class);
     
     private final ClaimService claimService;
+    private final ClaimEventBroadcaster claimEvents;
+    private final ModelWorkerPool modelPool;
     private final ObservationRegistry observationRegistry;
 
     @Value("${grafana.internal.url:http://lgtm:3000}")
     private String grafanaUrl;
 
-    public PhoenixController(ClaimService claimService, ObservationRegistry observationRegistry) {
+    public PhoenixController(ClaimService claimService, ClaimEventBroadcaster claimEvents,
+            ModelWorkerPool modelPool, ObservationRegistry observationRegistry) {
         this.claimService = claimService;
+        this.claimEvents = claimEvents;
+        this.modelPool = modelPool;
         this.observationRegistry = observationRegistry;
     }
 
+    /**
+     * Newest claims first, keyset-paginated on id. When the page is full the
+     * cursor for the next one is returned in the {@code X-Next-Cursor} header.
+     */
     @GetMapping("/claims")
-    public List<ClaimResponse> getClaims() {
-        log.trace("GET /api/claims called");
-        return claimService.getAllClaims();
+    public ResponseEntity<List<ClaimSummary>> getClaims(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.trace("GET /api/claims called with cursor: {}, limit: {}", cursor, limit);
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        List<ClaimSummary> page = claimService.getClaimPage(cursor, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == pageSize) {
+            response.header("X-Next-Cursor", String.valueOf(page.getLast().id()));
+        }
+        return response.body(page);
+    }
+
+    /**
+     * Server-Sent Events stream of enrichment stage transitions, for one claim
+     * or (without {@code claimId}) all of them. Replaces polling GET /claims.
+     */
+    @GetMapping(path = "/claims/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamClaimEvents(@RequestParam(required = false) Long claimId) {
+        log.debug("SSE subscription for claim: {}", claimId != null ? claimId : "all");
+        return claimEvents.subscribe(claimId);
+    }
+
+    @GetMapping("/claims/{id}")
+    public ResponseEntity<ClaimResponse> getClaim(@PathVariable Long id) {
+        return ResponseEntity.of(claimService.getClaim(id));
+    }
+
+    /** Full claims as NDJSON, streamed from a database cursor on a virtual thread. */
+    @GetMapping("/claims/export")
+    public ResponseEntity<ResponseBodyEmitter> exportClaims() {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(0L);
+        Thread.ofVirtual().name("claims-export").start(() -> {
+            try {
+                claimService.exportClaims(claim -> {
+                    try {
+                        emitter.send(claim, MediaType.APPLICATION_JSON);
+                        emitter.send("\n", MediaType.TEXT_PLAIN);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                emitter.complete();
+            } catch (Exception e) {
+                log.warn("Claims export aborted: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(emitter);
     }
 
     @PostMapping("/claims")
@@ -44,9 +123,10 @@ public class PhoenixController {
                 .observe(() -> {
                     String description = (String) payload.get("description");
                     String aiProvider = (String) payload.get("aiProvider") != null ? 
-                            (String) payload.get("aiProvider") : "ollama";
+                            (String) payload.get("aiProvider") : ClaimService.DEFAULT_AI_PROVIDER;
                     Double aiTemperature = payload.get("aiTemperature") != null ? 
-                            Double.valueOf(payload.get("aiTemperature").toString()) : 0.3;
+                            Double.valueOf(payload.get("aiTemperature").toString())
+                            : ClaimService.DEFAULT_AI_TEMPERATURE;
 
                     log.info("POST /api/claims called with description length: {}, provider: {}", 
                             description != null ? description.length() : 0, aiProvider);
@@ -55,6 +135,37 @@ public class PhoenixController {
                 });
     }
 
+    /**
+     * Bulk ingestion for backlog replays: a JSON array or an NDJSON stream of
+     * claims, parsed and validated in full, then inserted with JDBC batching in
+     * one short transaction. Returns the new ids in input order.
+     */
+    @PostMapping(path = "/claims/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson" })
+    public ResponseEntity<Map<String, Object>> createClaims(InputStream body) throws IOException {
+        try (MappingIterator<ClaimRequest> claims = CLAIM_READER.readValues(body)) {
+            List<Long> ids = Observation.createNotStarted("claim.batch.creation", observationRegistry)
+                    .observe(() -> claimService.createClaims(claims));
+            return ResponseEntity.ok(Map.of("count", ids.size(), "ids", ids));
+        } catch (JsonProcessingException e) {
+            return malformedBatch(e);
+        } catch (ClaimService.BatchTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return malformedBatch(e);
+        } catch (RuntimeException e) {
+            // MappingIterator wraps mid-stream parse errors; nothing has been written yet
+            if (e instanceof RuntimeJsonMappingException || e.getCause() instanceof JsonProcessingException) {
+                return malformedBatch(e);
+            }
+            throw e;
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> malformedBatch(Exception e) {
+        log.warn("Rejected malformed bulk claim request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
     @GetMapping("/config/ai-provider")
     public Map<String, Object> getAiProvider() {
         String provider = claimService.getCurrentAiProvider();
@@ -76,6 +187,29 @@ public class PhoenixController {
         return Map.of("status", "success", "provider", provider);
     }
 
+    @GetMapping("/config/model-workers")
+    public Map<AiProvider, Integer> getModelWorkers() {
+        return modelPool.workerCounts();
+    }
+
+    /** Resizes one provider's model worker pool at runtime, e.g. {"provider": "ollama", "workers": 2}. */
+    @PostMapping("/config/model-workers")
+    public ResponseEntity<Map<AiProvider, Integer>> setModelWorkers(@RequestBody Map<String, Object> payload) {
+        if (!(payload.get("provider") instanceof String provider)
+                || !(payload.get("workers") instanceof Number workers) || workers.intValue() < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        AiProvider resolved;
+        try {
+            resolved = AiProvider.valueOf(provider.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Setting {} model workers to {}", resolved, workers);
+        modelPool.resize(resolved, workers.intValue());
+        return ResponseEntity.ok(modelPool.workerCounts());
+    }
+
     @GetMapping("/monitoring/dashboards")
     public ResponseEntity<String> getDashboards() {
         RestTemplate restTemplate = new RestTemplate();
@@ -0,0 +1,11 @@
+package com.example.phoenix.dto;
+
+/**
+ * One claim in a bulk ingestion request. Provider and temperature default
+ * like {@code POST /api/claims} when omitted.
+ */
+public record ClaimRequest(
+        String description,
+        String aiProvider,
+        Double aiTemperature) {
+}
@@ -0,0 +1,22 @@
+package com.example.phoenix.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.phoenix.config.constant.EnrichmentStatus;
+
+/**
+ * List view of a claim. Leaves out the long agent outputs (fraud rationale
+ * and chain of thought); those come from the detail endpoint.
+ */
+public record ClaimSummary(
+        Long id,
+        String description,
+        String summary,
+        String status,
+        String aiProvider,
+        Double aiTemperature,
+        Integer fraudScore,
+        String fraudAnalysis,
+        EnrichmentStatus enrichmentStatus,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,98 @@
+package com.example.phoenix.listener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Batch variant of {@link ClaimKafkaListener}, enabled with
+ * {@code phoenix.kafka.listener.mode=batch}.
+ * Records of one poll are grouped by their Debezium key (the claim id) so that
+ * events for the same claim stay in offset order, then handed to
+ * {@link ClaimDispatcher}.
+ */
+@Component
+@ConditionalOnProperty(name = "phoenix.kafka.listener.mode", havingValue = "batch")
+public class ClaimBatchKafkaListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimBatchKafkaListener.class);
+
+    private final ClaimDispatcher claimDispatcher;
+    private final DistributionSummary batchSize;
+    private final Timer batchProcessing;
+    private final AtomicLong consumerLag = new AtomicLong();
+
+    public ClaimBatchKafkaListener(ClaimDispatcher claimDispatcher, MeterRegistry meterRegistry) {
+        this.claimDispatcher = claimDispatcher;
+        this.batchSize = DistributionSummary.builder("phoenix.kafka.batch.size")
+                .description("Records delivered per poll")
+                .baseUnit("records")
+                .register(meterRegistry);
+        this.batchProcessing = Timer.builder("phoenix.kafka.batch.processing")
+                .description("Time spent handling one polled batch")
+                .register(meterRegistry);
+        Gauge.builder("phoenix.kafka.batch.lag", consumerLag, AtomicLong::get)
+                .description("Highest partition lag observed at the end of the last batch")
+                .baseUnit("records")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(topics = "legacy.public.claims", groupId = "phoenix-modernizer",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void onClaimBatch(List<ConsumerRecord<String, String>> records, Consumer<?, ?> consumer)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        batchSize.record(records.size());
+
+        Map<String, List<ConsumerRecord<String, String>>> byClaim = groupByClaim(records);
+        log.info("Received Kafka batch: {} records for {} claims", records.size(), byClaim.size());
+
+        for (List<ConsumerRecord<String, String>> claimRecords : byClaim.values()) {
+            for (ConsumerRecord<String, String> record : claimRecords) {
+                claimDispatcher.dispatch(record);
+            }
+        }
+        claimDispatcher.commitCompleted(consumer);
+
+        batchProcessing.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        consumerLag.set(maxLag(consumer));
+    }
+
+    /**
+     * Groups records by message key, keeping first-seen order across keys and
+     * offset order within a key. Keyless records each get their own group.
+     */
+    static Map<String, List<ConsumerRecord<String, String>>> groupByClaim(
+            List<ConsumerRecord<String, String>> records) {
+        Map<String, List<ConsumerRecord<String, String>>> groups = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            groups.computeIfAbsent(ClaimDispatcher.claimKey(record), k -> new ArrayList<>()).add(record);
+        }
+        return groups;
+    }
+
+    private long maxLag(Consumer<?, ?> consumer) {
+        long max = 0;
+        for (TopicPartition partition : consumer.assignment()) {
+            max = Math.max(max, consumer.currentLag(partition).orElse(0L));
+        }
+        return max;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.phoenix.listener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import com.example.phoenix.service.ClaimProcessor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hands CDC records to {@link ClaimProcessor}, either inline on the consumer
+ * thread or, with {@code phoenix.enrichment.parallel.enabled=true}, on virtual
+ * threads through a {@link KeyOrderedExecutor} keyed by claim id.
+ * <p>
+ * In parallel mode auto-commit is switched off (see {@code KafkaConfig}) and
+ * offsets are committed from the consumer thread only up to the last record
+ * whose predecessors in the same partition have all finished.
+ */
+@Component
+public class ClaimDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimDispatcher.class);
+
+    private final ClaimProcessor claimProcessor;
+    private final boolean parallel;
+    private final KeyOrderedExecutor executor;
+    private final PartitionOffsetTracker offsets = new PartitionOffsetTracker();
+
+    public ClaimDispatcher(ClaimProcessor claimProcessor, MeterRegistry meterRegistry,
+            @Value("${phoenix.enrichment.parallel.enabled:false}") boolean parallel,
+            @Value("${phoenix.enrichment.max-in-flight:64}") int maxInFlight) {
+        this.claimProcessor = claimProcessor;
+        this.parallel = parallel;
+        this.executor = new KeyOrderedExecutor(maxInFlight);
+        if (parallel) {
+            log.info("Parallel enrichment enabled with max {} in-flight claim events", maxInFlight);
+        }
+        Gauge.builder("phoenix.enrichment.in.flight", executor, KeyOrderedExecutor::inFlight)
+                .description("Claim events queued or running on the enrichment executor")
+                .register(meterRegistry);
+        Gauge.builder("phoenix.enrichment.active.claims", executor, KeyOrderedExecutor::activeKeys)
+                .description("Distinct claims with queued or running events")
+                .register(meterRegistry);
+        Gauge.builder("phoenix.kafka.offsets.pending", offsets, PartitionOffsetTracker::pendingCount)
+                .description("Dispatched offsets not yet committed")
+                .register(meterRegistry);
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Processes the record. In parallel mode this returns as soon as the record
+     * is queued, blocking only while the in-flight limit is reached.
+     */
+    public void dispatch(ConsumerRecord<String, String> record) throws InterruptedException {
+        if (!parallel) {
+            claimProcessor.processClaimUpdate(record.value());
+            return;
+        }
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        long offset = record.offset();
+        offsets.register(partition, offset);
+        executor.submit(claimKey(record), () -> {
+            try {
+                claimProcessor.processClaimUpdate(record.value());
+            } finally {
+                offsets.complete(partition, offset);
+            }
+        });
+    }
+
+    /**
+     * Commits every contiguous finished offset of the partitions assigned to
+     * {@code consumer}. Must be called on that consumer's thread.
+     */
+    public void commitCompleted(Consumer<?, ?> consumer) {
+        if (!parallel) {
+            return;
+        }
+        Map<TopicPartition, OffsetAndMetadata> commits = offsets.drainCommittable(consumer.assignment());
+        if (!commits.isEmpty()) {
+            consumer.commitSync(commits);
+            log.debug("Committed offsets: {}", commits);
+        }
+    }
+
+    /**
+     * Containers are idle while the executor works through a backlog, so commit
+     * progress on the idle event as well as on each delivery.
+     */
+    @EventListener
+    public void onIdle(ListenerContainerIdleEvent event) {
+        if (parallel && event.getConsumer() != null) {
+            commitCompleted(event.getConsumer());
+        }
+    }
+
+    public ConsumerAwareRebalanceListener rebalanceListener() {
+        return new ConsumerAwareRebalanceListener() {
+            @Override
+            public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer,
+                    Collection<TopicPartition> partitions) {
+                commitCompleted(consumer);
+                // Unfinished records are redelivered to the new owner
+                offsets.revoke(partitions);
+            }
+
+            @Override
+            public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                // Already owned by someone else, so committing for them would fail; just forget them
+                offsets.revoke(partitions);
+            }
+        };
+    }
+
+    /**
+     * Debezium keys each record with the row's primary key, so the message key
+     * identifies the claim. Keyless records are treated as independent.
+     */
+    static String claimKey(ConsumerRecord<String, String> record) {
+        return record.key() != null ? record.key()
+                : record.topic() + "-" + record.partition() + "@" + record.offset();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!executor.awaitQuiescence(Duration.ofSeconds(30))) {
+            log.warn("Shutting down with {} claim events still in flight", executor.inFlight());
+        }
+        executor.close();
+    }
+}
@@ -1,25 +1,29 @@
 package com.example.phoenix.listener;
 
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import com.example.phoenix.service.ClaimProcessor;
-
 @Component
+@ConditionalOnProperty(name = "phoenix.kafka.listener.mode", havingValue = "record", matchIfMissing = true)
 public class ClaimKafkaListener {
 
     private static final Logger log = LoggerFactory.getLogger(ClaimKafkaListener.class);
-    private final ClaimProcessor claimProcessor;
+    private final ClaimDispatcher claimDispatcher;
 
-    public ClaimKafkaListener(ClaimProcessor claimProcessor) {
-        this.claimProcessor = claimProcessor;
+    public ClaimKafkaListener(ClaimDispatcher claimDispatcher) {
+        this.claimDispatcher = claimDispatcher;
     }
 
     @KafkaListener(topics = "legacy.public.claims", groupId = "phoenix-modernizer")
-    public void onClaimUpdate(String message) {
-        log.info("Received Kafka message: {}", message);
-        claimProcessor.processClaimUpdate(message);
+    public void onClaimUpdate(ConsumerRecord<String, String> record, Consumer<?, ?> consumer)
+            throws InterruptedException {
+        log.info("Received Kafka message: {}", record.value());
+        claimDispatcher.dispatch(record);
+        claimDispatcher.commitCompleted(consumer);
     }
 }
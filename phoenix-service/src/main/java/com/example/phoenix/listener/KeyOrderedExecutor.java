@@ -0,0 +1,73 @@
+package com.example.phoenix.listener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on virtual threads while preserving submission order per key.
+ * Tasks for the same key are chained one after another; tasks for different
+ * keys run concurrently. A global semaphore bounds the number of tasks that
+ * are queued or running, so {@link #submit} blocks the caller (the Kafka
+ * consumer thread) once the limit is reached.
+ */
+class KeyOrderedExecutor implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+    private final int maxInFlight;
+
+    KeyOrderedExecutor(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    void submit(String key, Runnable task) throws InterruptedException {
+        permits.acquire();
+        CompletableFuture<Void> next;
+        try {
+            next = tails.compute(key, (k, tail) -> {
+                CompletableFuture<Void> previous = tail != null ? tail : CompletableFuture.completedFuture(null);
+                // handle, not thenRun: a failed predecessor must not block the rest of the key's queue
+                return previous.handleAsync((ignored, error) -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                }, executor);
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        next.whenComplete((ignored, error) -> tails.remove(key, next));
+    }
+
+    int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    int activeKeys() {
+        return tails.size();
+    }
+
+    boolean awaitQuiescence(Duration timeout) throws InterruptedException {
+        if (permits.tryAcquire(maxInFlight, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            permits.release(maxInFlight);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.phoenix.listener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Tracks dispatched offsets per partition and reports the highest offset that
+ * is safe to commit, i.e. one where every earlier dispatched record in the
+ * partition has finished. {@link #register} and {@link #drainCommittable} must
+ * be called from the consumer thread that owns the partition; {@link #complete}
+ * may be called from any thread. One tracker serves every consumer of the
+ * container, so each consumer only drains the partitions assigned to it.
+ */
+class PartitionOffsetTracker {
+
+    private final Map<TopicPartition, ConcurrentSkipListMap<Long, Boolean>> pending = new ConcurrentHashMap<>();
+
+    void register(TopicPartition partition, long offset) {
+        pending.computeIfAbsent(partition, p -> new ConcurrentSkipListMap<>()).put(offset, Boolean.FALSE);
+    }
+
+    void complete(TopicPartition partition, long offset) {
+        ConcurrentSkipListMap<Long, Boolean> offsets = pending.get(partition);
+        if (offsets != null) {
+            // replace, not put: a revoked partition must not be resurrected by a late completion
+            offsets.replace(offset, Boolean.TRUE);
+        }
+    }
+
+    Map<TopicPartition, OffsetAndMetadata> drainCommittable(Collection<TopicPartition> assigned) {
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        for (TopicPartition partition : assigned) {
+            ConcurrentSkipListMap<Long, Boolean> offsets = pending.get(partition);
+            if (offsets == null) {
+                continue;
+            }
+            long last = -1;
+            Map.Entry<Long, Boolean> head;
+            while ((head = offsets.firstEntry()) != null && head.getValue()) {
+                last = head.getKey();
+                offsets.remove(last);
+            }
+            if (last >= 0) {
+                commits.put(partition, new OffsetAndMetadata(last + 1));
+            }
+        }
+        return commits;
+    }
+
+    void revoke(Collection<TopicPartition> partitions) {
+        partitions.forEach(pending::remove);
+    }
+
+    int pendingCount() {
+        return pending.values().stream().mapToInt(Map::size).sum();
+    }
+}
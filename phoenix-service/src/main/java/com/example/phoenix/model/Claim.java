@@ -2,8 +2,12 @@ package com.example.phoenix.model;
 
 import java.time.LocalDateTime;
 
+import com.example.phoenix.config.constant.EnrichmentStatus;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -42,6 +46,25 @@ public class Claim {
     @Column(name = "fraud_thought", columnDefinition = "TEXT")
     private String fraudThought;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "enrichment_status")
+    private EnrichmentStatus enrichmentStatus = EnrichmentStatus.PENDING;
+
+    @Column(name = "enrichment_attempts")
+    private int enrichmentAttempts;
+
+    @Column(name = "enrichment_updated_at")
+    private LocalDateTime enrichmentUpdatedAt;
+
+    @Column(name = "near_duplicate_of")
+    private Long nearDuplicateOf;
+
+    @Column(name = "summary_provider")
+    private String summaryProvider;
+
+    @Column(name = "fraud_provider")
+    private String fraudProvider;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -50,7 +73,7 @@ public class Claim {
 
     public Claim(Long id, String description, String summary, String status, String aiProvider, Double aiTemperature,
             Integer fraudScore, String fraudAnalysis, String fraudRationale, String fraudThought,
-            LocalDateTime createdAt) {
+            EnrichmentStatus enrichmentStatus, LocalDateTime createdAt) {
         this.id = id;
         this.description = description;
         this.summary = summary;
@@ -61,6 +84,7 @@ public class Claim {
         this.fraudAnalysis = fraudAnalysis;
         this.fraudRationale = fraudRationale;
         this.fraudThought = fraudThought;
+        this.enrichmentStatus = enrichmentStatus;
         this.createdAt = createdAt;
     }
 
@@ -109,6 +133,30 @@ public class Claim {
         return fraudThought;
     }
 
+    public EnrichmentStatus getEnrichmentStatus() {
+        return enrichmentStatus;
+    }
+
+    public int getEnrichmentAttempts() {
+        return enrichmentAttempts;
+    }
+
+    public LocalDateTime getEnrichmentUpdatedAt() {
+        return enrichmentUpdatedAt;
+    }
+
+    public Long getNearDuplicateOf() {
+        return nearDuplicateOf;
+    }
+
+    public String getSummaryProvider() {
+        return summaryProvider;
+    }
+
+    public String getFraudProvider() {
+        return fraudProvider;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -154,6 +202,30 @@ public class Claim {
         this.fraudThought = fraudThought;
     }
 
+    public void setEnrichmentStatus(EnrichmentStatus enrichmentStatus) {
+        this.enrichmentStatus = enrichmentStatus;
+    }
+
+    public void setEnrichmentAttempts(int enrichmentAttempts) {
+        this.enrichmentAttempts = enrichmentAttempts;
+    }
+
+    public void setEnrichmentUpdatedAt(LocalDateTime enrichmentUpdatedAt) {
+        this.enrichmentUpdatedAt = enrichmentUpdatedAt;
+    }
+
+    public void setNearDuplicateOf(Long nearDuplicateOf) {
+        this.nearDuplicateOf = nearDuplicateOf;
+    }
+
+    public void setSummaryProvider(String summaryProvider) {
+        this.summaryProvider = summaryProvider;
+    }
+
+    public void setFraudProvider(String fraudProvider) {
+        this.fraudProvider = fraudProvider;
+    }
+
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
@@ -169,6 +241,7 @@ public class Claim {
         private String fraudAnalysis;
         private String fraudRationale;
         private String fraudThought;
+        private EnrichmentStatus enrichmentStatus = EnrichmentStatus.PENDING;
         private LocalDateTime createdAt = LocalDateTime.now();
 
         public ClaimBuilder id(Long id) {
@@ -221,6 +294,11 @@ public class Claim {
             return this;
         }
 
+        public ClaimBuilder enrichmentStatus(EnrichmentStatus enrichmentStatus) {
+            this.enrichmentStatus = enrichmentStatus;
+            return this;
+        }
+
         public ClaimBuilder createdAt(LocalDateTime createdAt) {
             this.createdAt = createdAt;
             return this;
@@ -228,7 +306,7 @@ public class Claim {
 
         public Claim build() {
             return new Claim(id, description, summary, status, aiProvider, aiTemperature, fraudScore, fraudAnalysis,
-                    fraudRationale, fraudThought, createdAt);
+                    fraudRationale, fraudThought, enrichmentStatus, createdAt);
         }
     }
 }
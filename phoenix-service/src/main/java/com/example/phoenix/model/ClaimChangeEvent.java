@@ -0,0 +1,43 @@
+package com.example.phoenix.model;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The parts of a Debezium change event for the {@code claims} table that the
+ * enrichment pipeline uses. Rows map column names to scalar values
+ * ({@link String}, {@link Number}, {@link Boolean} or {@code null}).
+ */
+public record ClaimChangeEvent(
+        String op,
+        Map<String, Object> before,
+        Map<String, Object> after,
+        Long sourceTsMs) {
+
+    public Long claimId() {
+        return after != null && after.get("id") instanceof Number id ? id.longValue() : null;
+    }
+
+    /**
+     * True for an update whose before and after rows differ only in the given
+     * columns. Needs the full before image, i.e. {@code REPLICA IDENTITY FULL}.
+     */
+    public boolean changesOnly(Set<String> columns) {
+        if (!"u".equals(op) || before == null || after == null) {
+            return false;
+        }
+        for (Map.Entry<String, Object> column : after.entrySet()) {
+            if (!columns.contains(column.getKey())
+                    && !Objects.equals(before.get(column.getKey()), column.getValue())) {
+                return false;
+            }
+        }
+        for (String column : before.keySet()) {
+            if (!columns.contains(column) && !after.containsKey(column)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
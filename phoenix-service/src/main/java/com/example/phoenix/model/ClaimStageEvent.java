@@ -0,0 +1,21 @@
+package com.example.phoenix.model;
+
+import java.time.Instant;
+
+import com.example.phoenix.config.constant.EnrichmentStatus;
+
+/**
+ * A stage transition of one claim's enrichment pipeline, pushed to SSE
+ * subscribers. Carries the results known so far, so a client never has to
+ * re-fetch the claim to render it.
+ */
+public record ClaimStageEvent(
+        long sequence,
+        Long claimId,
+        String stage,
+        EnrichmentStatus enrichmentStatus,
+        String summary,
+        Integer fraudScore,
+        String fraudAnalysis,
+        Instant at) {
+}
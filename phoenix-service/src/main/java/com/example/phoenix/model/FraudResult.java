@@ -5,7 +5,11 @@ public record FraudResult(
     String analysis,
     String rationale,
     String thought
-) {}
+) {
+    // Stored when the model's answer cannot be parsed even after a correction; never cached or reused
+    public static final FraudResult PARSE_FAILURE = new FraudResult(0, "Error",
+            "Failed to parse AI response format.", "Parsing failure.");
+}
  
         
     
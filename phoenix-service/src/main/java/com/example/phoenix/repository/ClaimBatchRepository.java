@@ -0,0 +1,59 @@
+package com.example.phoenix.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.phoenix.config.constant.EnrichmentStatus;
+import com.example.phoenix.dto.ClaimRequest;
+
+/**
+ * Plain-JDBC bulk insert for claims. {@link com.example.phoenix.model.Claim}
+ * uses IDENTITY ids, which forces Hibernate to insert row by row; here ids are
+ * reserved from the SERIAL column's sequence in one round trip and the rows go
+ * out as a single JDBC batch (rewritten into multi-row INSERTs by the driver,
+ * see {@code reWriteBatchedInserts}).
+ */
+@Repository
+public class ClaimBatchRepository {
+
+    private static final String RESERVE_IDS = """
+            SELECT nextval(pg_get_serial_sequence('claims', 'id')) FROM generate_series(1, ?)
+            """;
+    private static final String INSERT = """
+            INSERT INTO claims (id, description, status, ai_provider, ai_temperature, enrichment_status, created_at)
+            VALUES (?, ?, 'OPEN', ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClaimBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Inserts the claims and returns their ids in input order. Callers own the transaction. */
+    public List<Long> insertAll(List<ClaimRequest> claims, String defaultProvider, double defaultTemperature) {
+        if (claims.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS, Long.class, claims.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(claims.size());
+        for (int i = 0; i < claims.size(); i++) {
+            ClaimRequest claim = claims.get(i);
+            rows.add(new Object[] {
+                    ids.get(i),
+                    claim.description(),
+                    claim.aiProvider() != null ? claim.aiProvider() : defaultProvider,
+                    claim.aiTemperature() != null ? claim.aiTemperature() : defaultTemperature,
+                    EnrichmentStatus.PENDING.name(),
+                    now });
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+        return ids;
+    }
+}
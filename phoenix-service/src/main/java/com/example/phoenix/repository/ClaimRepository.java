@@ -1,13 +1,136 @@
 package com.example.phoenix.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.phoenix.config.constant.EnrichmentStatus;
+import com.example.phoenix.dto.ClaimResponse;
+import com.example.phoenix.dto.ClaimSummary;
 import com.example.phoenix.model.Claim;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ClaimRepository extends JpaRepository<Claim, Long> {
-    List<Claim> findAllByOrderByIdDesc();
+    /**
+     * Keyset page of claims with ids below {@code cursor}, newest first,
+     * projected straight into the list DTO so the long agent outputs are
+     * never read.
+     */
+    @Query("""
+            SELECT new com.example.phoenix.dto.ClaimSummary(c.id, c.description, c.summary, c.status,
+                c.aiProvider, c.aiTemperature, COALESCE(c.fraudScore, -1), c.fraudAnalysis,
+                c.enrichmentStatus, c.createdAt)
+            FROM Claim c WHERE c.id < :cursor ORDER BY c.id DESC
+            """)
+    List<ClaimSummary> findPageBefore(@Param("cursor") long cursor, Limit limit);
+
+    /**
+     * Every claim as a detached DTO, fetched from a server-side cursor. Must
+     * be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new com.example.phoenix.dto.ClaimResponse(c.id, c.description, c.summary, c.status,
+                c.aiProvider, c.aiTemperature, COALESCE(c.fraudScore, -1), c.fraudAnalysis,
+                c.fraudRationale, c.fraudThought, c.createdAt)
+            FROM Claim c ORDER BY c.id DESC
+            """)
+    Stream<ClaimResponse> streamAllForExport();
+
+    /**
+     * FAILED with attempts left and its backoff over, or ENRICHING past its
+     * lease (the pipeline that took it died without releasing it).
+     */
+    String RETRYABLE = """
+            (c.enrichmentStatus = com.example.phoenix.config.constant.EnrichmentStatus.FAILED
+                AND c.enrichmentAttempts < :maxAttempts
+                AND COALESCE(c.enrichmentUpdatedAt, c.createdAt) < :retryBefore
+             OR c.enrichmentStatus = com.example.phoenix.config.constant.EnrichmentStatus.ENRICHING
+                AND COALESCE(c.enrichmentUpdatedAt, c.createdAt) < :leaseExpiredBefore)
+            """;
+
+    /**
+     * Moves an unenriched claim that is PENDING or {@link #RETRYABLE} to
+     * ENRICHING in its own short transaction, counting the attempt. Returns 0
+     * if the claim is already taken, enriched or out of attempts.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Claim c SET c.enrichmentStatus = com.example.phoenix.config.constant.EnrichmentStatus.ENRICHING,
+                c.enrichmentAttempts = c.enrichmentAttempts + 1, c.enrichmentUpdatedAt = :now
+            WHERE c.id = :id
+              AND (c.summary IS NULL OR c.summary = '')
+              AND (c.enrichmentStatus IS NULL
+                OR c.enrichmentStatus = com.example.phoenix.config.constant.EnrichmentStatus.PENDING
+                OR """ + RETRYABLE + ")")
+    int claimForEnrichment(@Param("id") Long id, @Param("maxAttempts") int maxAttempts,
+            @Param("retryBefore") LocalDateTime retryBefore,
+            @Param("leaseExpiredBefore") LocalDateTime leaseExpiredBefore, @Param("now") LocalDateTime now);
+
+    /**
+     * Ids of unenriched claims nothing will pick up on its own: {@link #RETRYABLE}
+     * ones, and PENDING ones untouched since {@code retryBefore} (deferred
+     * under load, or whose CDC event was never processed). Oldest first.
+     */
+    @Query("""
+            SELECT c.id FROM Claim c
+            WHERE (c.summary IS NULL OR c.summary = '')
+              AND (c.enrichmentStatus = com.example.phoenix.config.constant.EnrichmentStatus.PENDING
+                  AND COALESCE(c.enrichmentUpdatedAt, c.createdAt) < :retryBefore
+                OR """ + RETRYABLE + """
+                )
+            ORDER BY c.id
+            """)
+    List<Long> findRetryable(@Param("maxAttempts") int maxAttempts, @Param("retryBefore") LocalDateTime retryBefore,
+            @Param("leaseExpiredBefore") LocalDateTime leaseExpiredBefore, Limit limit);
+
+    /** Writes every enrichment result at once and marks the claim ENRICHED. */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Claim c SET c.summary = :summary, c.summaryProvider = :summaryProvider,
+                c.fraudScore = :score, c.fraudAnalysis = :analysis,
+                c.fraudRationale = :rationale, c.fraudThought = :thought,
+                c.fraudProvider = :fraudProvider, c.nearDuplicateOf = :nearDuplicateOf,
+                c.enrichmentStatus = com.example.phoenix.config.constant.EnrichmentStatus.ENRICHED
+            WHERE c.id = :id
+            """)
+    int completeEnrichment(@Param("id") Long id, @Param("summary") String summary,
+            @Param("summaryProvider") String summaryProvider, @Param("score") Integer score,
+            @Param("analysis") String analysis, @Param("rationale") String rationale,
+            @Param("thought") String thought, @Param("fraudProvider") String fraudProvider,
+            @Param("nearDuplicateOf") Long nearDuplicateOf);
+
+    /**
+     * Hands a claim shed by back-pressure back as PENDING, returning the
+     * attempt it was charged; {@link #findRetryable} offers it again later.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Claim c SET c.enrichmentStatus = com.example.phoenix.config.constant.EnrichmentStatus.PENDING,
+                c.enrichmentAttempts = c.enrichmentAttempts - 1, c.enrichmentUpdatedAt = :now
+            WHERE c.id = :id
+              AND c.enrichmentStatus = com.example.phoenix.config.constant.EnrichmentStatus.ENRICHING
+            """)
+    int deferEnrichment(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Claim c SET c.enrichmentStatus = :status, c.enrichmentUpdatedAt = :now WHERE c.id = :id")
+    int updateEnrichmentStatus(@Param("id") Long id, @Param("status") EnrichmentStatus status,
+            @Param("now") LocalDateTime now);
 }
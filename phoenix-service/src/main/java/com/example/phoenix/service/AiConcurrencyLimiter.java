@@ -0,0 +1,244 @@
+package com.example.phoenix.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import com.example.phoenix.config.constant.AiProvider;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Per-{@link AiProvider} bulkhead with an AIMD concurrency limit.
+ * <p>
+ * Every successful call under the latency target grows the limit by
+ * {@code 1/limit} (about +1 per limit's worth of calls). A 429 or a call slower
+ * than {@code latency-tolerance} times the baseline latency of its operation
+ * multiplies it by {@code backoff}. Baselines are kept per operation
+ * (summary, analysis, ...) because a one-line summary and a tool-calling
+ * analysis differ by an order of magnitude; a single baseline would come from
+ * the fastest one and read every slower call as overload.
+ * <p>
+ * Callers over the limit wait in a bounded queue for at most
+ * {@code max-wait}; a full queue or an expired wait is rejected with
+ * {@link RejectedExecutionException}. That is load shedding, not a failed
+ * call: {@link ClaimProcessor} defers the claim back to PENDING and retries
+ * it later.
+ * <p>
+ * Settings live under {@code phoenix.ai.limit.*}, each overridable per
+ * provider as {@code phoenix.ai.limit.<provider>.*}.
+ */
+@Service
+public class AiConcurrencyLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(AiConcurrencyLimiter.class);
+    // Provider SDKs surface rate limiting differently; Vertex AI reports RESOURCE_EXHAUSTED
+    private static final Pattern RATE_LIMITED = Pattern.compile("\\b429\\b|Too Many Requests|RESOURCE_EXHAUSTED");
+
+    private final Map<AiProvider, AdaptiveLimit> limits = new EnumMap<>(AiProvider.class);
+
+    public AiConcurrencyLimiter(Environment environment, MeterRegistry meterRegistry) {
+        for (AiProvider provider : AiProvider.values()) {
+            limits.put(provider, new AdaptiveLimit(provider, environment, meterRegistry));
+        }
+    }
+
+    /**
+     * Runs {@code work} under the provider's limit. Its latency is compared
+     * with the baseline of {@code operation}; pass {@code null} for calls whose
+     * latency says nothing about load (they still back off on a 429).
+     */
+    public <T> T call(String providerName, String operation, Supplier<T> work) {
+        return limits.get(AiService.resolve(providerName)).call(operation, work);
+    }
+
+    static boolean isThrottled(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof HttpStatusCodeException http && http.getStatusCode().value() == 429) {
+                return true;
+            }
+            String message = t.getMessage();
+            if (message != null && RATE_LIMITED.matcher(message).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class AdaptiveLimit {
+
+        private final AiProvider provider;
+        private final int minLimit;
+        private final int maxLimit;
+        private final int queueSize;
+        private final Duration maxWait;
+        private final double latencyTolerance;
+        private final double backoff;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition permitReleased = lock.newCondition();
+        // Guarded by lock
+        private double limit;
+        private int inFlight;
+        private int waiting;
+        private final Map<String, Double> baselineNanos = new HashMap<>();
+
+        private final Timer queueTime;
+        private final Counter queueFull;
+        private final Counter waitExpired;
+        private final Counter throttled;
+
+        AdaptiveLimit(AiProvider provider, Environment env, MeterRegistry meterRegistry) {
+            this.provider = provider;
+            String prefix = "phoenix.ai.limit." + provider.name().toLowerCase() + ".";
+            this.limit = setting(env, prefix, "initial", Integer.class, 4);
+            this.minLimit = setting(env, prefix, "min", Integer.class, 1);
+            this.maxLimit = setting(env, prefix, "max", Integer.class, 64);
+            this.queueSize = setting(env, prefix, "queue-size", Integer.class, 100);
+            this.maxWait = setting(env, prefix, "max-wait", Duration.class, Duration.ofSeconds(30));
+            this.latencyTolerance = setting(env, prefix, "latency-tolerance", Double.class, 3.0);
+            this.backoff = setting(env, prefix, "backoff", Double.class, 0.75);
+
+            String tag = provider.name().toLowerCase();
+            Gauge.builder("phoenix.ai.limit", this, AdaptiveLimit::currentLimit)
+                    .description("Adaptive concurrency limit for AI calls")
+                    .tag("provider", tag)
+                    .register(meterRegistry);
+            Gauge.builder("phoenix.ai.in.flight", this, l -> l.inFlight)
+                    .description("AI calls currently running")
+                    .tag("provider", tag)
+                    .register(meterRegistry);
+            Gauge.builder("phoenix.ai.queue.depth", this, l -> l.waiting)
+                    .description("AI calls waiting for a permit")
+                    .tag("provider", tag)
+                    .register(meterRegistry);
+            this.queueTime = Timer.builder("phoenix.ai.queue.time")
+                    .description("Time AI calls waited for a permit")
+                    .tag("provider", tag)
+                    .register(meterRegistry);
+            this.queueFull = rejections(meterRegistry, tag, "queue-full");
+            this.waitExpired = rejections(meterRegistry, tag, "timeout");
+            this.throttled = Counter.builder("phoenix.ai.throttled")
+                    .description("AI calls answered with a rate-limit error")
+                    .tag("provider", tag)
+                    .register(meterRegistry);
+        }
+
+        private static <T> T setting(Environment env, String prefix, String key, Class<T> type, T fallback) {
+            T shared = env.getProperty("phoenix.ai.limit." + key, type, fallback);
+            return env.getProperty(prefix + key, type, shared);
+        }
+
+        private static Counter rejections(MeterRegistry meterRegistry, String provider, String reason) {
+            return Counter.builder("phoenix.ai.rejected")
+                    .description("AI calls rejected by the concurrency limiter")
+                    .tag("provider", provider)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+
+        int currentLimit() {
+            return (int) limit;
+        }
+
+        <T> T call(String operation, Supplier<T> work) {
+            acquire();
+            long start = System.nanoTime();
+            long latencyNanos = -1;
+            boolean rateLimited = false;
+            try {
+                T result = work.get();
+                latencyNanos = System.nanoTime() - start;
+                return result;
+            } catch (RuntimeException e) {
+                // Other failures say nothing about capacity; the permit is just given back
+                rateLimited = isThrottled(e);
+                if (rateLimited) {
+                    throttled.increment();
+                }
+                throw e;
+            } finally {
+                release(operation, operation != null ? latencyNanos : -1, rateLimited);
+            }
+        }
+
+        private void acquire() {
+            long start = System.nanoTime();
+            lock.lock();
+            try {
+                if (inFlight >= (int) limit) {
+                    if (waiting >= queueSize) {
+                        queueFull.increment();
+                        throw new RejectedExecutionException(provider + " AI queue is full (" + queueSize + ")");
+                    }
+                    waiting++;
+                    try {
+                        long remaining = maxWait.toNanos();
+                        while (inFlight >= (int) limit) {
+                            if (remaining <= 0) {
+                                waitExpired.increment();
+                                throw new RejectedExecutionException(
+                                        "No " + provider + " AI capacity within " + maxWait);
+                            }
+                            remaining = permitReleased.awaitNanos(remaining);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted waiting for " + provider + " AI capacity", e);
+                    } finally {
+                        waiting--;
+                    }
+                }
+                inFlight++;
+            } finally {
+                lock.unlock();
+                queueTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /** Returns the permit and adapts the limit; {@code latencyNanos < 0} means no signal. */
+        private void release(String operation, long latencyNanos, boolean throttledCall) {
+            lock.lock();
+            try {
+                inFlight--;
+                int before = (int) limit;
+                if (throttledCall) {
+                    limit = Math.max(minLimit, limit * backoff);
+                } else if (latencyNanos >= 0) {
+                    Double previous = baselineNanos.get(operation);
+                    // Let the baseline drift up slowly so a permanently slower model is not punished forever
+                    double baseline = previous == null || latencyNanos < previous ? latencyNanos
+                            : previous + (latencyNanos - previous) * 0.01;
+                    baselineNanos.put(operation, baseline);
+                    if (latencyNanos > baseline * latencyTolerance) {
+                        limit = Math.max(minLimit, limit * backoff);
+                    } else {
+                        limit = Math.min(maxLimit, limit + 1 / limit);
+                    }
+                }
+                if ((int) limit != before) {
+                    log.debug("{} AI concurrency limit {} -> {}", provider, before, (int) limit);
+                }
+                permitReleased.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.phoenix.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import com.example.phoenix.config.constant.AiProvider;
+
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Latency-aware hedging and failover for AI calls.
+ * <p>
+ * Each call is timed into a per-(provider, operation) histogram. With
+ * {@code phoenix.ai.hedging.enabled}, a call still running after that
+ * histogram's p95 starts a backup request on the provider's configured
+ * secondary ({@code phoenix.ai.hedging.secondary.<provider>}); a call that
+ * fails outright fails over to it immediately. The first successful answer
+ * wins and the other request is cancelled (its virtual thread interrupted).
+ * The returned {@link Answer} says which provider actually answered.
+ */
+@Service
+public class AiHedgingExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(AiHedgingExecutor.class);
+
+    public record Answer<T>(T value, AiProvider provider) {
+    }
+
+    private record Key(AiProvider provider, String operation) {
+    }
+
+    private final boolean enabled;
+    private final Duration initialDelay;
+    private final Duration minDelay;
+    private final long minSamples;
+    private final Map<AiProvider, AiProvider> secondaries = new ConcurrentHashMap<>();
+    private final Map<Key, Timer> latencies = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // Carries the current observation (trace) into the hedged virtual threads
+    private final ContextSnapshotFactory contextSnapshots = ContextSnapshotFactory.builder().build();
+
+    public AiHedgingExecutor(Environment environment, MeterRegistry meterRegistry,
+            @Value("${phoenix.ai.hedging.enabled:false}") boolean enabled,
+            @Value("${phoenix.ai.hedging.initial-delay:20s}") Duration initialDelay,
+            @Value("${phoenix.ai.hedging.min-delay:1s}") Duration minDelay,
+            @Value("${phoenix.ai.hedging.min-samples:20}") long minSamples) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.initialDelay = initialDelay;
+        this.minDelay = minDelay;
+        this.minSamples = minSamples;
+        for (AiProvider provider : AiProvider.values()) {
+            String secondary = environment.getProperty(
+                    "phoenix.ai.hedging.secondary." + provider.name().toLowerCase());
+            if (secondary != null && !secondary.isBlank()) {
+                AiProvider backup = AiService.resolve(secondary);
+                if (backup != provider) {
+                    secondaries.put(provider, backup);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs {@code call} against {@code providerName}, hedging or failing over
+     * to its secondary when enabled. {@code call} receives the provider to use.
+     */
+    public <T> Answer<T> execute(String operation, String providerName, Function<AiProvider, T> call) {
+        AiProvider primary = AiService.resolve(providerName);
+        AiProvider secondary = enabled ? secondaries.get(primary) : null;
+        if (secondary == null) {
+            return new Answer<>(timed(primary, operation, call), primary);
+        }
+
+        CompletionService<Answer<T>> race = new ExecutorCompletionService<>(executor);
+        List<Future<Answer<T>>> attempts = new ArrayList<>(2);
+        attempts.add(race.submit(attempt(primary, operation, call)));
+        try {
+            Future<Answer<T>> finished = race.poll(hedgeDelay(primary, operation).toNanos(), TimeUnit.NANOSECONDS);
+            boolean backupStarted = false;
+            RuntimeException lastFailure = null;
+            while (true) {
+                if (finished == null) {
+                    // Primary is past its p95: race a backup against it
+                    startBackup(race, attempts, primary, secondary, operation, call, "hedged");
+                    backupStarted = true;
+                    finished = race.take();
+                }
+                try {
+                    Answer<T> answer = finished.get();
+                    answered(operation, primary, answer.provider());
+                    return answer;
+                } catch (ExecutionException e) {
+                    lastFailure = e.getCause() instanceof RuntimeException re ? re : new RuntimeException(e.getCause());
+                    if (!backupStarted) {
+                        startBackup(race, attempts, primary, secondary, operation, call, "failover");
+                        backupStarted = true;
+                    }
+                    if (attempts.stream().allMatch(Future::isDone)) {
+                        throw lastFailure;
+                    }
+                    finished = race.take();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for " + operation + " from " + primary, e);
+        } finally {
+            // The loser (if any) is still running; stop it
+            attempts.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private <T> void startBackup(CompletionService<Answer<T>> race, List<Future<Answer<T>>> attempts,
+            AiProvider primary, AiProvider secondary, String operation, Function<AiProvider, T> call, String reason) {
+        log.info("Starting {} backup of {} call from {} on {}", reason, operation, primary, secondary);
+        Counter.builder("phoenix.ai.hedge")
+                .description("Backup AI requests started, by reason")
+                .tag("provider", primary.name().toLowerCase())
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        attempts.add(race.submit(attempt(secondary, operation, call)));
+    }
+
+    private <T> Callable<Answer<T>> attempt(AiProvider provider, String operation,
+            Function<AiProvider, T> call) {
+        return contextSnapshots.captureAll().wrap(() -> new Answer<>(timed(provider, operation, call), provider));
+    }
+
+    // Only successful calls are recorded, so cancelled losers and fast failures do not skew the p95
+    private <T> T timed(AiProvider provider, String operation, Function<AiProvider, T> call) {
+        long start = System.nanoTime();
+        T result = call.apply(provider);
+        latency(provider, operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private Duration hedgeDelay(AiProvider provider, String operation) {
+        Timer timer = latency(provider, operation);
+        if (timer.count() < minSamples) {
+            return initialDelay;
+        }
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95) {
+                long p95 = (long) percentile.value(TimeUnit.NANOSECONDS);
+                return Duration.ofNanos(Math.max(p95, minDelay.toNanos()));
+            }
+        }
+        return initialDelay;
+    }
+
+    private Timer latency(AiProvider provider, String operation) {
+        return latencies.computeIfAbsent(new Key(provider, operation), key -> Timer.builder("phoenix.ai.call.latency")
+                .description("AI call latency; its p95 is the hedging delay")
+                .tag("provider", provider.name().toLowerCase())
+                .tag("operation", operation)
+                .publishPercentiles(0.95)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private void answered(String operation, AiProvider requested, AiProvider answered) {
+        Counter.builder("phoenix.ai.answered")
+                .description("AI answers by requested and answering provider")
+                .tag("operation", operation)
+                .tag("requested", requested.name().toLowerCase())
+                .tag("answered", answered.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
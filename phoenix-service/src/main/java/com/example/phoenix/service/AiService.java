@@ -1,6 +1,13 @@
 package com.example.phoenix.service;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.ollama.OllamaChatModel;
 import org.springframework.ai.openai.OpenAiChatModel;
@@ -8,28 +15,100 @@ import org.springframework.ai.vertexai.gemini.VertexAiGeminiChatModel;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 
+import com.example.phoenix.config.constant.AiProvider;
+import com.example.phoenix.tool.RiskAnalysisTools;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registry of {@link ChatClient}s per {@link AiProvider}. The plain client and
+ * the tool-enabled agentic client are built once per provider, on first use,
+ * and reused for every claim; tool-schema reflection for
+ * {@link RiskAnalysisTools} therefore happens once, not per claim. Entries
+ * live as long as the application context: they wrap the singleton
+ * {@link ChatModel} beans, which are only configured at startup, so changing
+ * a provider's settings takes a restart.
+ */
 @Service
 public class AiService {
 
+    private static final Logger log = LoggerFactory.getLogger(AiService.class);
+
+    record ProviderClients(ChatClient chat, ChatClient agentic) {
+    }
+
     private final ApplicationContext applicationContext;
+    private final RiskAnalysisTools riskAnalysisTools;
+    private final Map<AiProvider, ProviderClients> clients = new ConcurrentHashMap<>();
+    private final Map<AiProvider, Counter> builds = new EnumMap<>(AiProvider.class);
+    private final Map<AiProvider, Counter> reuses = new EnumMap<>(AiProvider.class);
 
-    public AiService(ApplicationContext applicationContext) {
+    public AiService(ApplicationContext applicationContext, RiskAnalysisTools riskAnalysisTools,
+            MeterRegistry meterRegistry) {
         this.applicationContext = applicationContext;
+        this.riskAnalysisTools = riskAnalysisTools;
+        for (AiProvider provider : AiProvider.values()) {
+            String tag = provider.name().toLowerCase();
+            builds.put(provider, Counter.builder("phoenix.ai.client.registry")
+                    .description("ChatClient registry lookups by outcome")
+                    .tag("provider", tag)
+                    .tag("outcome", "built")
+                    .register(meterRegistry));
+            reuses.put(provider, Counter.builder("phoenix.ai.client.registry")
+                    .description("ChatClient registry lookups by outcome")
+                    .tag("provider", tag)
+                    .tag("outcome", "reused")
+                    .register(meterRegistry));
+        }
     }
 
     public ChatClient getChatClient(String providerName) {
-        ChatModel chatModel;
+        return clientsFor(resolve(providerName)).chat();
+    }
+
+    /**
+     * The provider's client with {@link RiskAnalysisTools} and request logging as defaults.
+     */
+    public ChatClient getAgenticChatClient(String providerName) {
+        return clientsFor(resolve(providerName)).agentic();
+    }
+
+    static AiProvider resolve(String providerName) {
+        if ("openai".equalsIgnoreCase(providerName)) {
+            return AiProvider.OPENAI;
+        } else if ("gemini".equalsIgnoreCase(providerName)) {
+            return AiProvider.GEMINI;
+        }
+        return AiProvider.OLLAMA;
+    }
+
+    private ProviderClients clientsFor(AiProvider provider) {
+        ProviderClients cached = clients.get(provider);
+        if (cached != null) {
+            reuses.get(provider).increment();
+            return cached;
+        }
+        return clients.computeIfAbsent(provider, this::build);
+    }
+
+    private ProviderClients build(AiProvider provider) {
         try {
-            if ("openai".equalsIgnoreCase(providerName)) {
-                chatModel = applicationContext.getBean(OpenAiChatModel.class);
-            } else if ("gemini".equalsIgnoreCase(providerName)) {
-                chatModel = applicationContext.getBean(VertexAiGeminiChatModel.class);
-            } else {
-                chatModel = applicationContext.getBean(OllamaChatModel.class);
-            }
-            return ChatClient.create(chatModel);
+            ChatModel chatModel = switch (provider) {
+                case OPENAI -> applicationContext.getBean(OpenAiChatModel.class);
+                case GEMINI -> applicationContext.getBean(VertexAiGeminiChatModel.class);
+                case OLLAMA -> applicationContext.getBean(OllamaChatModel.class);
+            };
+            ChatClient chat = ChatClient.create(chatModel);
+            ChatClient agentic = chat.mutate()
+                    .defaultTools(riskAnalysisTools)
+                    .defaultAdvisors(new SimpleLoggerAdvisor())
+                    .build();
+            builds.get(provider).increment();
+            log.info("Built ChatClients for provider: {}", provider);
+            return new ProviderClients(chat, agentic);
         } catch (Exception e) {
-            throw new RuntimeException("AI Provider " + providerName + " not configured correctly.", e);
+            throw new RuntimeException("AI Provider " + provider.name().toLowerCase() + " not configured correctly.", e);
         }
     }
 }
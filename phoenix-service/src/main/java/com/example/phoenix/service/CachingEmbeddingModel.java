@@ -0,0 +1,72 @@
+package com.example.phoenix.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+/**
+ * {@link EmbeddingModel} decorator that serves repeated texts from the shared
+ * {@link EmbeddingCache}. Only texts not cached are sent to the provider, in
+ * a single request. Vector stores embed through {@link #call}, both when
+ * adding documents and when embedding a similarity-search query, so both paths
+ * are covered.
+ */
+class CachingEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final EmbeddingCache cache;
+    private final String namespace;
+
+    CachingEmbeddingModel(EmbeddingModel delegate, EmbeddingCache cache, String namespace) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.namespace = namespace;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> texts = request.getInstructions();
+        float[][] vectors = new float[texts.size()][];
+        List<String> missing = new ArrayList<>();
+        List<Integer> missingAt = new ArrayList<>();
+
+        for (int i = 0; i < texts.size(); i++) {
+            vectors[i] = cache.get(namespace, texts.get(i));
+            if (vectors[i] == null) {
+                missing.add(texts.get(i));
+                missingAt.add(i);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            EmbeddingResponse response = delegate.call(new EmbeddingRequest(missing, request.getOptions()));
+            List<Embedding> results = response.getResults();
+            for (int j = 0; j < results.size(); j++) {
+                int index = missingAt.get(j);
+                vectors[index] = results.get(j).getOutput();
+                cache.put(namespace, texts.get(index), vectors[index]);
+            }
+        }
+
+        List<Embedding> embeddings = new ArrayList<>(texts.size());
+        for (int i = 0; i < vectors.length; i++) {
+            embeddings.add(new Embedding(vectors[i], i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return delegate.embed(document);
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.phoenix.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.phoenix.config.constant.EnrichmentStatus;
+import com.example.phoenix.model.Claim;
+import com.example.phoenix.model.ClaimStageEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fans enrichment stage transitions out to Server-Sent Events subscribers.
+ * <p>
+ * Each subscriber gets a bounded buffer drained by its own virtual thread, so
+ * the pipeline only ever does a non-blocking offer. When a slow client's
+ * buffer is full the oldest event is dropped; the latest one for a claim
+ * carries everything the client needs anyway.
+ */
+@Service
+public class ClaimEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimEventBroadcaster.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Duration heartbeatInterval;
+    private final Counter droppedEvents;
+
+    public ClaimEventBroadcaster(MeterRegistry meterRegistry,
+            @Value("${phoenix.sse.buffer-size:64}") int bufferSize,
+            @Value("${phoenix.sse.timeout:30m}") Duration timeout,
+            @Value("${phoenix.sse.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.heartbeatInterval = heartbeatInterval;
+        this.droppedEvents = Counter.builder("phoenix.sse.events.dropped")
+                .description("Claim events dropped because a subscriber's buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("phoenix.sse.subscribers", subscribers, Set::size)
+                .description("Connected claim event subscribers")
+                .register(meterRegistry);
+    }
+
+    /** Subscribes to one claim's events, or to all claims when {@code claimId} is null. */
+    public SseEmitter subscribe(Long claimId) {
+        Subscriber subscriber = new Subscriber(claimId, new SseEmitter(timeout.toMillis()),
+                new ArrayBlockingQueue<>(bufferSize));
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.sender = Thread.ofVirtual().name("sse-claims").start(subscriber::drain);
+        return subscriber.emitter;
+    }
+
+    public void publish(Claim claim, String stage) {
+        broadcast(new ClaimStageEvent(sequence.incrementAndGet(), claim.getId(), stage,
+                claim.getEnrichmentStatus(), claim.getSummary(), claim.getFraudScore(), claim.getFraudAnalysis(),
+                Instant.now()));
+    }
+
+    /**
+     * Pushes a provisional fraud score read from a still-streaming answer.
+     * Only the score is set; it is not persisted until the analysis completes.
+     */
+    public void publishScore(Long claimId, int score) {
+        broadcast(new ClaimStageEvent(sequence.incrementAndGet(), claimId, "fraud.score.available",
+                EnrichmentStatus.ENRICHING, null, score, null, Instant.now()));
+    }
+
+    private void broadcast(ClaimStageEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.claimId == null || subscriber.claimId.equals(event.claimId())) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private final class Subscriber {
+        private final Long claimId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ClaimStageEvent> buffer;
+        private volatile Thread sender;
+
+        Subscriber(Long claimId, SseEmitter emitter, BlockingQueue<ClaimStageEvent> buffer) {
+            this.claimId = claimId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        void offer(ClaimStageEvent event) {
+            while (!buffer.offer(event)) {
+                if (buffer.poll() != null) {
+                    droppedEvents.increment();
+                }
+            }
+        }
+
+        void drain() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    ClaimStageEvent event = buffer.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        // Comment line keeps proxies from idling the connection out and detects gone clients
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.sequence()))
+                            .name(event.stage())
+                            .data(event));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Claim event subscriber disconnected: {}", e.getMessage());
+                emitter.completeWithError(e);
+            } finally {
+                subscribers.remove(this);
+            }
+        }
+
+        void close() {
+            subscribers.remove(this);
+            Thread thread = sender;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+}
@@ -1,27 +1,38 @@
 package com.example.phoenix.service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.converter.BeanOutputConverter;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.ollama.api.OllamaChatOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.example.phoenix.config.constant.EnrichmentStatus;
+import com.example.phoenix.config.constant.ModelPriority;
 import com.example.phoenix.model.Claim;
+import com.example.phoenix.model.ClaimChangeEvent;
 import com.example.phoenix.model.FraudResult;
 import com.example.phoenix.repository.ClaimRepository;
-import com.example.phoenix.tool.RiskAnalysisTools;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.phoenix.service.EnrichmentCache.CachedEnrichment;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 
@@ -30,95 +41,464 @@ public class ClaimProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(ClaimProcessor.class);
 
+    // Debezium emits this for TOASTed columns it could not read
+    private static final String UNAVAILABLE_VALUE = "__debezium_unavailable_value";
+    private static final List<String> AFTER_IMAGE_FIELDS = List.of("description", "summary", "ai_provider",
+            "ai_temperature");
+    private static final String SCORE_ONLY_ANALYSIS = "Low risk; analysis skipped by the score-only policy.";
+    // Columns written by the pipeline itself; updates touching nothing else are our own echoes
+    private static final Set<String> ENRICHMENT_COLUMNS = Set.of("summary", "fraud_score", "fraud_analysis",
+            "fraud_rationale", "fraud_thought", "enrichment_status", "near_duplicate_of", "summary_provider",
+            "fraud_provider", "enrichment_attempts", "enrichment_updated_at");
+
     private final ClaimRepository claimRepository;
     private final AiService aiService;
     private final GovernanceService governanceService;
-    private final VectorStoreManager vectorStoreManager;
-    private final RiskAnalysisTools riskAnalysisTools;
+    private final VectorSyncQueue vectorSyncQueue;
+    private final EnrichmentCache enrichmentCache;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final ClaimEventBroadcaster claimEvents;
+    private final AiConcurrencyLimiter aiLimiter;
+    private final AiHedgingExecutor aiHedging;
+    private final ModelWorkerPool modelPool;
     private final ObservationRegistry observationRegistry;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry;
+    private final Counter echoesSkipped;
+    private final Counter deferred;
+    private final DebeziumEnvelopeParser envelopeParser = new DebeziumEnvelopeParser();
+
+    @Value("${phoenix.cdc.use-after-image:false}")
+    private boolean useAfterImage;
+
+    // Events older than this (e.g. during a backfill replay) are re-read from the database
+    @Value("${phoenix.cdc.after-image.max-age:60s}")
+    private Duration afterImageMaxAge;
+
+    // Ask the fraud agent for JSON matching the FraudResult schema instead of the THOUGHT/SCORE text format
+    @Value("${phoenix.ai.fraud.structured-output:false}")
+    private boolean structuredOutput;
+
+    // Stream the fraud agent's answer and read SCORE as soon as it is generated
+    @Value("${phoenix.ai.fraud.streaming.enabled:false}")
+    private boolean streaming;
+
+    // Score-only policy: when streaming, stop generating once SCORE is below this (0 = never stop early)
+    @Value("${phoenix.ai.fraud.streaming.score-only-below:0}")
+    private int scoreOnlyBelow;
+
+    // A claim is enriched at most this many times; FAILED claims below it are retried
+    @Value("${phoenix.enrichment.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    // How long a FAILED (or deferred) claim waits before it is retried
+    @Value("${phoenix.enrichment.retry.backoff:2m}")
+    private Duration retryBackoff;
+
+    // An ENRICHING claim older than this lost its pipeline (e.g. a crash) and may be taken again
+    @Value("${phoenix.enrichment.lease:15m}")
+    private Duration lease;
+
+    // Added to the reused score of a near-duplicate claim
+    @Value("${phoenix.enrichment.near-duplicate.score-boost:10}")
+    private int nearDuplicateScoreBoost;
+
+    /** Result of the fraud stage and where it came from. */
+    private record FraudOutcome(FraudResult result, String provider, Long nearDuplicateOf) {
+    }
+
+    private final BeanOutputConverter<FraudResult> fraudResultConverter = new BeanOutputConverter<>(FraudResult.class);
 
     public ClaimProcessor(ClaimRepository claimRepository, AiService aiService, GovernanceService governanceService,
-            VectorStoreManager vectorStoreManager, RiskAnalysisTools riskAnalysisTools,
-            ObservationRegistry observationRegistry) {
+            VectorSyncQueue vectorSyncQueue, EnrichmentCache enrichmentCache,
+            NearDuplicateIndex nearDuplicateIndex, ClaimEventBroadcaster claimEvents, AiConcurrencyLimiter aiLimiter,
+            AiHedgingExecutor aiHedging, ModelWorkerPool modelPool, ObservationRegistry observationRegistry,
+            MeterRegistry meterRegistry) {
         this.claimRepository = claimRepository;
         this.aiService = aiService;
         this.governanceService = governanceService;
-        this.vectorStoreManager = vectorStoreManager;
-        this.riskAnalysisTools = riskAnalysisTools;
+        this.vectorSyncQueue = vectorSyncQueue;
+        this.enrichmentCache = enrichmentCache;
+        this.nearDuplicateIndex = nearDuplicateIndex;
+        this.claimEvents = claimEvents;
+        this.aiLimiter = aiLimiter;
+        this.aiHedging = aiHedging;
+        this.modelPool = modelPool;
         this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+        this.echoesSkipped = Counter.builder("phoenix.cdc.echo.skipped")
+                .description("CDC updates dropped because they only touched enrichment columns")
+                .register(meterRegistry);
+        this.deferred = Counter.builder("phoenix.enrichment.deferred")
+                .description("Enrichments handed back as PENDING: shed under load or stopped by shutdown")
+                .register(meterRegistry);
     }
 
-    @Transactional
+    /**
+     * Runs the enrichment state machine for one CDC event. Deliberately not
+     * {@code @Transactional}: each database stage is its own short transaction
+     * (see {@link ClaimRepository}) so no pooled connection is held while the
+     * LLM calls run. Compare {@code hikaricp.connections.acquire} and
+     * {@code hikaricp.connections.pending} with the
+     * {@code phoenix.enrichment.stage} timers to see the effect.
+     * <ol>
+     * <li>claim: PENDING (or retryable FAILED / expired ENRICHING) -> ENRICHING,
+     * skipped if another event already took it</li>
+     * <li>ai: summarization and agentic fraud analysis, concurrently, no connection held</li>
+     * <li>persist: write all results in one UPDATE, ENRICHING -> ENRICHED (or FAILED)</li>
+     * </ol>
+     * A run shed by back-pressure or cut short by shutdown is not a failure:
+     * the claim goes back to PENDING and the retry sweeper picks it up after
+     * the backoff.
+     */
     public void processClaimUpdate(String message) {
         try {
-            JsonNode rootNode = objectMapper.readTree(message);
-            JsonNode payloadNode = rootNode.has("payload") ? rootNode.get("payload") : rootNode;
-
-            if (!payloadNode.has("after") || payloadNode.get("after").isNull()) {
+            ClaimChangeEvent event = envelopeParser.parse(message);
+            if (event == null || event.after() == null) {
                 return;
             }
 
-            JsonNode after = payloadNode.get("after");
-            Long claimId = after.get("id").asLong();
-
-            Claim claim = claimRepository.findById(claimId)
-                    .orElseThrow(() -> new RuntimeException("Claim not found: " + claimId));
+            if (event.changesOnly(ENRICHMENT_COLUMNS)) {
+                echoesSkipped.increment();
+                log.debug("Skipping echo of our own enrichment write for claim {}", event.claimId());
+                return;
+            }
 
-            if (claim.getSummary() != null && !claim.getSummary().isEmpty()) {
+            Long claimId = event.claimId();
+            if (claimId == null) {
+                log.warn("CDC event without a claim id, skipping");
                 return;
             }
 
-            runEnrichmentPipeline(claim);
+            enrich(claimId, event);
 
         } catch (Exception e) {
             log.error("Failed to process claim update: {}", e.getMessage(), e);
         }
     }
 
+    /**
+     * Re-runs enrichment of a claim returned by {@link #findRetryable}. Does
+     * nothing if a CDC event or another instance took the claim first.
+     */
+    public void retryEnrichment(Long claimId) {
+        try {
+            enrich(claimId, null);
+        } catch (Exception e) {
+            log.error("Failed to retry enrichment of claim {}: {}", claimId, e.getMessage(), e);
+        }
+    }
+
+    /** Unenriched claims that no CDC event will pick up again, oldest first. */
+    public List<Long> findRetryable(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return claimRepository.findRetryable(maxAttempts, now.minus(retryBackoff), now.minus(lease),
+                Limit.of(limit));
+    }
+
+    private void enrich(Long claimId, ClaimChangeEvent event) {
+        boolean claimed = timeStage("claim", () -> {
+            LocalDateTime now = LocalDateTime.now();
+            return claimRepository.claimForEnrichment(claimId, maxAttempts, now.minus(retryBackoff),
+                    now.minus(lease), now) == 1;
+        });
+        if (!claimed) {
+            log.debug("Claim {} already enriched, in progress or out of attempts, skipping", claimId);
+            return;
+        }
+
+        Claim claim;
+        try {
+            claim = event != null && useAfterImage ? fromAfterImage(event) : null;
+            if (claim == null) {
+                claim = claimRepository.findById(claimId)
+                        .orElseThrow(() -> new RuntimeException("Claim not found: " + claimId));
+            }
+        } catch (RuntimeException e) {
+            // The claim is ours now, so it must not be left ENRICHING
+            releaseFailedClaim(claimId);
+            throw e;
+        }
+        claim.setEnrichmentStatus(EnrichmentStatus.ENRICHING);
+
+        runEnrichmentPipeline(claim);
+    }
+
+    /**
+     * Marks a claim FAILED when this event took it but could not hand it to the
+     * pipeline (missing row, unusable after image), which handles its own errors.
+     */
+    private void releaseFailedClaim(Long claimId) {
+        try {
+            claimRepository.updateEnrichmentStatus(claimId, EnrichmentStatus.FAILED, LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Could not mark claim {} as FAILED: {}", claimId, e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the working claim from the Debezium "after" row so the pipeline can
+     * skip a findById. The conditional UPDATE in the claim stage already
+     * guarantees the row is unenriched; this returns {@code null} (forcing a
+     * database read) when a needed column is missing or the event is too old to
+     * trust its description.
+     */
+    private Claim fromAfterImage(ClaimChangeEvent event) {
+        Map<String, Object> after = event.after();
+        for (String field : AFTER_IMAGE_FIELDS) {
+            if (!after.containsKey(field) || UNAVAILABLE_VALUE.equals(after.get(field))) {
+                log.debug("After image lacks '{}', falling back to database read", field);
+                return null;
+            }
+        }
+        if (event.sourceTsMs() != null
+                && System.currentTimeMillis() - event.sourceTsMs() > afterImageMaxAge.toMillis()) {
+            log.debug("After image is older than {}, falling back to database read", afterImageMaxAge);
+            return null;
+        }
+
+        Claim claim = Claim.builder()
+                .id(event.claimId())
+                .description(textOrNull(after, "description"))
+                .summary(textOrNull(after, "summary"))
+                .aiProvider(textOrNull(after, "ai_provider"))
+                .aiTemperature(after.get("ai_temperature") instanceof Number t ? t.doubleValue() : null)
+                .status(textOrNull(after, "status"))
+                .build();
+        // Debezium encodes TIMESTAMP columns as epoch microseconds by default
+        if (after.get("created_at") instanceof Number createdAt) {
+            long micros = createdAt.longValue();
+            claim.setCreatedAt(LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC));
+        }
+        return claim;
+    }
+
+    private static String textOrNull(Map<String, Object> row, String column) {
+        Object value = row.get(column);
+        return value != null ? value.toString() : null;
+    }
+
     private void runEnrichmentPipeline(Claim claim) {
         Observation observation = Observation.start("claim.enrichment.pipeline", observationRegistry);
         observation.lowCardinalityKeyValue("claim.id", String.valueOf(claim.getId()));
 
         try (Observation.Scope scope = observation.openScope()) {
             log.info("Starting enrichment pipeline for claim: {}", claim.getId());
+            claimEvents.publish(claim, "enrichment.started");
 
             // 1. Governance/Sanitization
             String sanitizedDescription = governanceService.redactSensitiveData(claim.getDescription());
-            observation.event(Observation.Event.of("governance.sanitization.complete"));
-
-            // 2. Stage 1: Summarization
-            ChatClient chatClient = aiService.getChatClient(claim.getAiProvider());
-            String summary = summarizeClaim(sanitizedDescription, claim.getAiTemperature(), chatClient);
-            claim.setSummary(summary);
-            claimRepository.save(claim);
-            observation.event(Observation.Event.of("summarization.complete"));
+            stage(observation, claim, "governance.sanitization.complete");
+
+            // Identical sanitized descriptions reuse an earlier result without calling the LLM
+            String cacheKey = EnrichmentCache.key(sanitizedDescription, claim.getAiProvider(),
+                    claim.getAiTemperature());
+            CachedEnrichment cached = enrichmentCache.get(cacheKey).orElse(null);
+            if (cached != null) {
+                log.info("Reusing cached enrichment for claim: {}", claim.getId());
+                stage(observation, claim, "enrichment.cache.hit");
+            }
 
-            // 3. Stage 2: Agentic Fraud Analysis
-            log.info("Starting Agentic Fraud Analysis for claim: {}", claim.getId());
-            observation.event(Observation.Event.of("agentic.rag.started"));
-            FraudResult fraudResult = agenticAnalyzeClaim(sanitizedDescription, chatClient, claim.getAiProvider());
+            FraudOutcome fraud;
+            if (cached != null) {
+                claim.setSummary(cached.summary());
+                claim.setSummaryProvider(claim.getAiProvider());
+                stage(observation, claim, "summarization.complete");
+                syncToVectorStore(claim);
+                stage(observation, claim, "vector.sync.complete");
+                fraud = new FraudOutcome(cached.fraudResult(), claim.getAiProvider(), null);
+            } else {
+                // 2. Summarization and agentic fraud analysis run concurrently: the analysis only needs
+                // the sanitized description. Vector sync follows the summary without waiting for the analysis.
+                try (StageScope stages = new StageScope(observationRegistry, observation)) {
+                    Future<AiHedgingExecutor.Answer<String>> summaryStage = stages.fork("summary",
+                            () -> summarize(claim, sanitizedDescription));
+                    Future<FraudOutcome> fraudStage = stages.fork("fraud",
+                            () -> analyzeFraud(claim, sanitizedDescription));
+                    log.info("Starting Agentic Fraud Analysis for claim: {}", claim.getId());
+                    stage(observation, claim, "agentic.rag.started");
+
+                    while (stages.hasPending()) {
+                        if (stages.next() == summaryStage) {
+                            AiHedgingExecutor.Answer<String> answer = summaryStage.resultNow();
+                            claim.setSummary(answer.value());
+                            claim.setSummaryProvider(answer.provider().name().toLowerCase());
+                            stage(observation, claim, "summarization.complete");
+
+                            // 3. Vector Sync (write-behind: batched and retried by VectorSyncQueue)
+                            syncToVectorStore(claim);
+                            stage(observation, claim, "vector.sync.complete");
+                        }
+                    }
+                    fraud = fraudStage.resultNow();
+                    observation.lowCardinalityKeyValue("critical.path", stages.lastCompleted());
+                }
+                if (fraud.nearDuplicateOf() != null) {
+                    stage(observation, claim, "near.duplicate.detected");
+                }
+            }
 
+            // 4. Persist everything in one write: ENRICHING -> ENRICHED
+            FraudResult fraudResult = fraud.result();
             claim.setFraudScore(fraudResult.score());
             claim.setFraudAnalysis(fraudResult.analysis());
             claim.setFraudRationale(fraudResult.rationale());
             claim.setFraudThought(fraudResult.thought());
-            claimRepository.save(claim);
-            observation.event(Observation.Event.of("agentic.rag.complete"));
-
-            // 4. Vector Sync
-            syncToVectorStore(claim);
-            observation.event(Observation.Event.of("vector.sync.complete"));
+            claim.setFraudProvider(fraud.provider());
+            claim.setNearDuplicateOf(fraud.nearDuplicateOf());
+            timeStage("persist", () -> claimRepository.completeEnrichment(claim.getId(), claim.getSummary(),
+                    claim.getSummaryProvider(), fraudResult.score(), fraudResult.analysis(),
+                    fraudResult.rationale(), fraudResult.thought(), fraud.provider(), fraud.nearDuplicateOf()));
+            claim.setEnrichmentStatus(EnrichmentStatus.ENRICHED);
+            stage(observation, claim, "agentic.rag.complete");
+
+            if (cached == null && fraud.nearDuplicateOf() == null && fraudResult != FraudResult.PARSE_FAILURE) {
+                enrichmentCache.put(cacheKey, claim.getAiProvider(), claim.getAiTemperature(),
+                        new CachedEnrichment(claim.getSummary(), fraudResult));
+            }
+            // Only claims with their own analysis are match targets, so reused analyses never chain.
+            // Filed under the requested provider, the key lookups use, even when a hedged secondary answered.
+            if (fraud.nearDuplicateOf() == null && fraudResult != FraudResult.PARSE_FAILURE) {
+                nearDuplicateIndex.add(claim.getAiProvider(), claim.getId(), sanitizedDescription);
+            }
 
             log.info("Enrichment pipeline completed for claim: {}", claim.getId());
         } catch (Exception e) {
-            observation.error(e);
-            log.error("Error in enrichment pipeline for claim {}: {}", claim.getId(), e.getMessage());
+            if (isDeferrable(e)) {
+                observation.lowCardinalityKeyValue("outcome", "deferred");
+                log.warn("Deferring enrichment of claim {}: {}", claim.getId(), e.getMessage());
+                defer(claim);
+            } else {
+                observation.error(e);
+                log.error("Error in enrichment pipeline for claim {}: {}", claim.getId(), e.getMessage());
+                markFailed(claim);
+            }
         } finally {
             observation.stop();
         }
     }
 
+    /** Summary stage; may be answered by the hedging secondary. */
+    private AiHedgingExecutor.Answer<String> summarize(Claim claim, String sanitizedDescription) {
+        return timeStage("ai", () -> aiHedging.execute("summary", claim.getAiProvider(),
+                provider -> modelCall(provider.name().toLowerCase(), "summary", ModelPriority.NORMAL,
+                        () -> summarizeClaim(sanitizedDescription, claim.getAiTemperature(),
+                                aiService.getChatClient(provider.name().toLowerCase())))));
+    }
+
+    /**
+     * Fraud stage: reuses a near-duplicate's analysis when there is one,
+     * otherwise runs the agentic analysis. Runs off the pipeline thread, so it
+     * only reads the claim and returns what the persist step should write.
+     */
+    private FraudOutcome analyzeFraud(Claim claim, String sanitizedDescription) {
+        FraudOutcome nearDuplicate = adaptNearDuplicate(claim, sanitizedDescription);
+        if (nearDuplicate != null) {
+            return nearDuplicate;
+        }
+        AiHedgingExecutor.Answer<FraudResult> answer = timeStage("ai", () -> aiHedging.execute("analysis",
+                claim.getAiProvider(), provider -> agenticAnalyzeClaim(claim.getId(),
+                        sanitizedDescription, provider.name().toLowerCase())));
+        return new FraudOutcome(answer.value(), answer.provider().name().toLowerCase(), null);
+    }
+
+    /**
+     * Reuses the fraud analysis of an enriched near-duplicate claim, raising its
+     * score since repeated near-identical filings are themselves a fraud signal.
+     * Returns {@code null} when there is no usable match.
+     */
+    private FraudOutcome adaptNearDuplicate(Claim claim, String sanitizedDescription) {
+        NearDuplicateIndex.Match match = nearDuplicateIndex.findNearest(claim.getAiProvider(), sanitizedDescription)
+                .filter(m -> m.claimId() != claim.getId())
+                .orElse(null);
+        if (match == null) {
+            return null;
+        }
+        Claim original = claimRepository.findById(match.claimId())
+                .filter(c -> c.getFraudScore() != null && c.getFraudScore() >= 0)
+                .orElse(null);
+        if (original == null) {
+            return null;
+        }
+
+        log.info("Claim {} is a near-duplicate of claim {} (similarity {})", claim.getId(), original.getId(),
+                String.format("%.2f", match.similarity()));
+        // No provider answered for this claim, so fraud_provider stays null
+        return new FraudOutcome(new FraudResult(
+                Math.min(100, original.getFraudScore() + nearDuplicateScoreBoost),
+                String.format("Near-duplicate of claim #%d (similarity %.2f). %s", original.getId(),
+                        match.similarity(), original.getFraudAnalysis()),
+                original.getFraudRationale()
+                        + "\nNear-identical filings are a fraud indicator; analysis adapted from the earlier claim.",
+                original.getFraudThought()), null, original.getId());
+    }
+
+    /**
+     * A {@link RejectedExecutionException} anywhere in the chain means the AI
+     * limiter or the model pool had no room for the call (full queue, expired
+     * wait) or dropped it on shutdown; hedging and stage scopes pass it through
+     * as the cause. An interrupted pipeline is being stopped, not broken.
+     */
+    private static boolean isDeferrable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof RejectedExecutionException || t instanceof InterruptedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void defer(Claim claim) {
+        deferred.increment();
+        try {
+            claimRepository.deferEnrichment(claim.getId(), LocalDateTime.now());
+            claim.setEnrichmentStatus(EnrichmentStatus.PENDING);
+            claimEvents.publish(claim, "enrichment.deferred");
+        } catch (Exception e) {
+            // Left ENRICHING, the claim is taken again once its lease expires
+            log.error("Could not defer claim {}: {}", claim.getId(), e.getMessage());
+        }
+    }
+
+    private void markFailed(Claim claim) {
+        if (claim.getEnrichmentStatus() == EnrichmentStatus.ENRICHED) {
+            return;
+        }
+        try {
+            claimRepository.updateEnrichmentStatus(claim.getId(), EnrichmentStatus.FAILED, LocalDateTime.now());
+            claim.setEnrichmentStatus(EnrichmentStatus.FAILED);
+            claimEvents.publish(claim, "enrichment.failed");
+        } catch (Exception e) {
+            log.error("Could not mark claim {} as FAILED: {}", claim.getId(), e.getMessage());
+        }
+    }
+
+    /** Records a pipeline stage on the trace and pushes it to SSE subscribers. */
+    private void stage(Observation observation, Claim claim, String name) {
+        observation.event(Observation.Event.of(name));
+        claimEvents.publish(claim, name);
+    }
+
+    /**
+     * A chat call on the provider's model worker pool, under its adaptive
+     * limit. The permit is taken by the worker around the model invocation
+     * only, so queued calls hold no permit, the pool's priority order decides
+     * who runs next, and the limiter measures service time without queueing.
+     * {@code operation} picks the latency baseline the limiter compares
+     * against; {@code null} gives it no latency signal.
+     */
+    private <T> T modelCall(String provider, String operation, ModelPriority priority, Supplier<T> call) {
+        return modelPool.call(provider, priority, () -> aiLimiter.call(provider, operation, call));
+    }
+
+    private <T> T timeStage(String stage, Supplier<T> work) {
+        return Timer.builder("phoenix.enrichment.stage")
+                .description("Time spent per enrichment stage; only claim and persist hold a DB connection")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(work);
+    }
+
     private String summarizeClaim(String description, Double temperature, ChatClient chatClient) {
         return chatClient.prompt()
                 .user("Summarize this insurance claim for a technical adjuster in 1 sentence: " + description)
@@ -127,11 +507,9 @@ public class ClaimProcessor {
                 .content();
     }
 
-    private FraudResult agenticAnalyzeClaim(String claimText, ChatClient chatClient, String provider) {
-        ChatClient agenticClient = chatClient.mutate()
-                .defaultTools(riskAnalysisTools)
-                .defaultAdvisors(new SimpleLoggerAdvisor())
-                .build();
+    private FraudResult agenticAnalyzeClaim(Long claimId, String claimText, String provider) {
+        ChatClient chatClient = aiService.getChatClient(provider);
+        ChatClient agenticClient = aiService.getAgenticChatClient(provider);
 
         String systemPrompt = """
                 You are a Senior Insurance Fraud Analyst Agent.
@@ -142,70 +520,108 @@ public class ClaimProcessor {
                 4. ANALYZE the results from the tool alongside the current claim.
 
                 OUTPUT FORMAT (STRICT):
-                THOUGHT: <your reasoning>
-                SCORE: <0-100>
-                ANALYSIS: <concise summary>
-                RATIONALE: <detailed logic>
-                """;
-
-        String response = agenticClient.prompt()
-                .system(String.format(systemPrompt, provider))
-                .user("Task: Analyze this claim for potential fraud or anomalies: " + claimText)
-                .call()
-                .content();
-
-        return parseAndValidate(response, claimText, chatClient, 1);
-    }
+                %s""";
 
-    private FraudResult parseAndValidate(String response, String claimText, ChatClient chatClient, int attempt) {
-        Pattern pattern = Pattern.compile(
-                "(?:THOUGHT:\\s*(.*?)\\s*)?SCORE:\\s*(\\d{1,3})\\s*ANALYSIS:\\s*(.*?)\\s*RATIONALE:\\s*(.*)",
-                Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+        ChatClient.ChatClientRequestSpec request = agenticClient.prompt()
+                .system(String.format(systemPrompt, provider, fraudOutputFormat()))
+                .user("Task: Analyze this claim for potential fraud or anomalies: " + claimText);
 
-        Matcher matcher = pattern.matcher(response);
-        if (matcher.find()) {
-            try {
-                String thought = matcher.group(1) != null ? matcher.group(1).trim()
-                        : "Agent skipped explicit reasoning.";
-                int score = Integer.parseInt(matcher.group(2));
-                String analysis = matcher.group(3).trim();
-                String rationale = matcher.group(4).trim();
+        if (!streaming) {
+            String response = modelCall(provider, "analysis", ModelPriority.NORMAL, () -> request.call().content());
+            return parseAndValidate(response, claimText, chatClient, provider, 1);
+        }
 
-                if (score >= 0 && score <= 100) {
-                    return new FraudResult(score, analysis, rationale, thought);
-                }
-            } catch (Exception e) {
-                log.warn("Regex parsing failed, attempting flexible extraction.");
+        // Under the score-only policy some streams stop after the score, so their latency is no load signal
+        StreamingFraudParser answer = modelCall(provider, scoreOnlyBelow > 0 ? null : "analysis.stream",
+                ModelPriority.NORMAL, () -> streamAnalysis(request, claimId, provider));
+        if (isScoreOnly(answer.score())) {
+            FraudResult partial = FraudResultParser.parse(answer.text());
+            if (partial != null) {
+                return new FraudResult(partial.score(),
+                        "N/A".equals(partial.analysis()) ? SCORE_ONLY_ANALYSIS : partial.analysis(),
+                        partial.rationale(), partial.thought());
             }
         }
+        return parseAndValidate(answer.text(), claimText, chatClient, provider, 1);
+    }
 
-        return extractFlexibly(response, claimText, chatClient, attempt);
+    /**
+     * Streams the agent's answer, publishing the score to SSE subscribers as
+     * soon as it is generated. Under the score-only policy a low score cancels
+     * the stream, which stops generation of the remaining sections.
+     */
+    private StreamingFraudParser streamAnalysis(ChatClient.ChatClientRequestSpec request, Long claimId,
+            String provider) {
+        StreamingFraudParser answer = new StreamingFraudParser();
+        long start = System.nanoTime();
+        request.stream()
+                .content()
+                .doOnNext(chunk -> {
+                    if (answer.isEmpty()) {
+                        streamTimer("phoenix.ai.stream.first.token", "Time to the first streamed token", provider)
+                                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                    boolean scoreKnown = answer.score() >= 0;
+                    answer.append(chunk);
+                    if (!scoreKnown && answer.score() >= 0) {
+                        streamTimer("phoenix.ai.stream.score", "Time until the fraud score was streamed", provider)
+                                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        claimEvents.publishScore(claimId, answer.score());
+                    }
+                })
+                .takeUntil(chunk -> isScoreOnly(answer.score()))
+                .blockLast();
+        if (isScoreOnly(answer.score())) {
+            log.info("Score-only policy: stopped analysis of claim {} at score {}", claimId, answer.score());
+            Counter.builder("phoenix.ai.stream.stopped.early")
+                    .description("Streamed fraud analyses cut short by the score-only policy")
+                    .tag("provider", provider)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return answer;
     }
 
-    private FraudResult extractFlexibly(String response, String claimText, ChatClient chatClient, int attempt) {
-        Integer score = extractValue(response, "SCORE\\s*[:\\-]?\\s*(\\d{1,3})").map(Integer::parseInt).orElse(null);
-        String thought = extractValue(response, "THOUGHT:\\s*(.*?)(?=SCORE:|ANALYSIS:|RATIONALE:|$)").orElse("N/A");
-        String analysis = extractValue(response, "ANALYSIS:\\s*(.*?)(?=RATIONALE:|SCORE:|THOUGHT:|$)").orElse("N/A");
-        String rationale = extractValue(response, "RATIONALE:\\s*(.*)").orElse("N/A");
+    private boolean isScoreOnly(int score) {
+        return score >= 0 && score < scoreOnlyBelow;
+    }
+
+    private Timer streamTimer(String name, String description, String provider) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
 
-        if (score != null && score >= 0 && score <= 100) {
-            return new FraudResult(score, analysis, rationale, thought);
+    private String fraudOutputFormat() {
+        if (structuredOutput) {
+            return fraudResultConverter.getFormat();
         }
+        return """
+                THOUGHT: <your reasoning>
+                SCORE: <0-100>
+                ANALYSIS: <concise summary>
+                RATIONALE: <detailed logic>
+                """;
+    }
 
-        if (attempt < 2) {
-            return retryWithCorrection(claimText, response, chatClient, attempt + 1);
+    private FraudResult parseAndValidate(String response, String claimText, ChatClient chatClient, String provider,
+            int attempt) {
+        FraudResult result = FraudResultParser.parse(response);
+        if (result != null) {
+            return result;
         }
 
-        return new FraudResult(0, "Error", "Failed to parse AI response format.", "Parsing failure.");
-    }
+        if (attempt < 2) {
+            log.warn("Could not parse fraud analysis (attempt {}), asking the model to correct it.", attempt);
+            return retryWithCorrection(claimText, response, chatClient, provider, attempt + 1);
+        }
 
-    private java.util.Optional<String> extractValue(String text, String regex) {
-        Matcher m = Pattern.compile(regex, Pattern.DOTALL | Pattern.CASE_INSENSITIVE).matcher(text);
-        return m.find() ? java.util.Optional.of(m.group(1).trim()) : java.util.Optional.empty();
+        return FraudResult.PARSE_FAILURE;
     }
 
     private FraudResult retryWithCorrection(String claimText, String previousResponse, ChatClient chatClient,
-            int attempt) {
+            String provider, int attempt) {
         String correctionPrompt = String.format("""
                 REASONING ERROR IN PREVIOUS TASK:
                 The previous output was:
@@ -213,27 +629,26 @@ public class ClaimProcessor {
                 %s
                 ---
                 FIX THIS NOW. Analyze this claim using the STRICT format:
-                THOUGHT: <reasoning>
-                SCORE: <0-100>
-                ANALYSIS: <summary>
-                RATIONALE: <detail>
-                """, previousResponse);
+                %s""", previousResponse, fraudOutputFormat());
 
-        String retryResponse = chatClient.prompt()
+        // A correction finishes a claim that is already half done, so it jumps the queue
+        String retryResponse = modelCall(provider, "correction", ModelPriority.HIGH, () -> chatClient.prompt()
                 .system("You are a Senior Fraud Auditor. Follow STRICT format.")
                 .user(correctionPrompt)
                 .options(ChatOptions.builder().temperature(0.0).build())
                 .call()
-                .content();
+                .content());
 
-        return parseAndValidate(retryResponse, claimText, chatClient, attempt);
+        return parseAndValidate(retryResponse, claimText, chatClient, provider, attempt);
     }
 
     private void syncToVectorStore(Claim claim) {
         try {
-            List<Document> docs = List.of(
+            vectorSyncQueue.enqueue(claim.getAiProvider(),
                     new Document(claim.getSummary(), Map.of("source", "legacy_db", "claim_id", claim.getId())));
-            vectorStoreManager.getStore(claim.getAiProvider()).add(docs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Vector Store Sync interrupted for claim {}", claim.getId());
         } catch (Exception e) {
             log.error("Vector Store Sync Error: {}", e.getMessage());
         }
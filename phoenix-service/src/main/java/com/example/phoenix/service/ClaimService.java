@@ -1,35 +1,84 @@
 package com.example.phoenix.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.phoenix.dto.ClaimRequest;
 import com.example.phoenix.dto.ClaimResponse;
+import com.example.phoenix.dto.ClaimSummary;
 import com.example.phoenix.model.Claim;
+import com.example.phoenix.repository.ClaimBatchRepository;
 import com.example.phoenix.repository.ClaimRepository;
 
 @Service
 public class ClaimService {
 
     private static final Logger log = LoggerFactory.getLogger(ClaimService.class);
+
+    // Used by both the single and the bulk endpoint for claims that leave them out
+    public static final String DEFAULT_AI_PROVIDER = "ollama";
+    public static final double DEFAULT_AI_TEMPERATURE = 0.3;
+
+    /** A bulk request with more claims than {@code phoenix.claims.batch.max-size}. */
+    public static class BatchTooLargeException extends RuntimeException {
+        public BatchTooLargeException(int maxSize) {
+            super("Bulk request exceeds " + maxSize + " claims");
+        }
+    }
+
     private final ClaimRepository claimRepository;
+    private final ClaimBatchRepository claimBatchRepository;
     private final VectorStoreManager vectorStoreManager;
+    private final TransactionTemplate transactionTemplate;
 
-    public ClaimService(ClaimRepository claimRepository, VectorStoreManager vectorStoreManager) {
+    // Rows per JDBC batch, and the most claims accepted in one bulk request
+    @Value("${phoenix.claims.batch.chunk-size:1000}")
+    private int batchChunkSize;
+
+    @Value("${phoenix.claims.batch.max-size:50000}")
+    private int batchMaxSize;
+
+    public ClaimService(ClaimRepository claimRepository, ClaimBatchRepository claimBatchRepository,
+            VectorStoreManager vectorStoreManager, TransactionTemplate transactionTemplate) {
         this.claimRepository = claimRepository;
+        this.claimBatchRepository = claimBatchRepository;
         this.vectorStoreManager = vectorStoreManager;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    /**
+     * Claims with ids below {@code cursor} (or the newest when null), at most
+     * {@code limit} of them. The last id of a full page is the next cursor.
+     */
     @Transactional(readOnly = true)
-    public List<ClaimResponse> getAllClaims() {
-        return claimRepository.findAllByOrderByIdDesc().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public List<ClaimSummary> getClaimPage(Long cursor, int limit) {
+        return claimRepository.findPageBefore(cursor != null ? cursor : Long.MAX_VALUE, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ClaimResponse> getClaim(Long id) {
+        return claimRepository.findById(id).map(ClaimService::mapToResponse);
+    }
+
+    /** Streams every claim to {@code consumer} without loading the table into memory. */
+    @Transactional(readOnly = true)
+    public void exportClaims(Consumer<ClaimResponse> consumer) {
+        try (Stream<ClaimResponse> claims = claimRepository.streamAllForExport()) {
+            claims.forEach(consumer);
+        }
     }
 
     @Transactional
@@ -47,6 +96,38 @@ public class ClaimService {
         return mapToResponse(saved);
     }
 
+    /**
+     * Reads and validates every claim before touching the database, so a slow
+     * client never pins a pooled connection (the request is bounded by
+     * {@code batchMaxSize} small records). Then inserts them all in one short
+     * transaction, {@code batchChunkSize} rows per JDBC batch. Returns the new
+     * ids in input order.
+     */
+    public List<Long> createClaims(Iterator<ClaimRequest> claims) {
+        List<ClaimRequest> requests = new ArrayList<>();
+        while (claims.hasNext()) {
+            if (requests.size() == batchMaxSize) {
+                throw new BatchTooLargeException(batchMaxSize);
+            }
+            ClaimRequest claim = claims.next();
+            if (claim == null || claim.description() == null || claim.description().isBlank()) {
+                throw new IllegalArgumentException("Claim " + (requests.size() + 1) + " has no description");
+            }
+            requests.add(claim);
+        }
+
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> inserted = new ArrayList<>(requests.size());
+            for (int from = 0; from < requests.size(); from += batchChunkSize) {
+                List<ClaimRequest> chunk = requests.subList(from, Math.min(from + batchChunkSize, requests.size()));
+                inserted.addAll(claimBatchRepository.insertAll(chunk, DEFAULT_AI_PROVIDER, DEFAULT_AI_TEMPERATURE));
+            }
+            return inserted;
+        });
+        log.info("Bulk-created {} claims", ids.size());
+        return ids;
+    }
+
     public String getCurrentAiProvider() {
         return vectorStoreManager.get().provider().name().toLowerCase();
     }
@@ -59,7 +140,8 @@ public class ClaimService {
         vectorStoreManager.switchToProvider(provider, temperature);
     }
 
-    private ClaimResponse mapToResponse(Claim claim) {
+    /** Public and stateless so phoenix-benchmarks can measure it directly. */
+    public static ClaimResponse mapToResponse(Claim claim) {
         return new ClaimResponse(
                 claim.getId(),
                 claim.getDescription(),
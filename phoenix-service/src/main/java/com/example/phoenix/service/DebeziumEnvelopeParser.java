@@ -0,0 +1,121 @@
+package com.example.phoenix.service;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.example.phoenix.model.ClaimChangeEvent;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+
+/**
+ * Streaming parser for Debezium JSON envelopes, with or without the
+ * {@code schema} block. Unlike {@code ObjectMapper.readTree} it never builds a
+ * tree: the schema and any payload fields other than {@code op},
+ * {@code before}, {@code after} and {@code source.ts_ms} are skipped token by
+ * token, and parsing stops as soon as the payload object closes.
+ */
+public class DebeziumEnvelopeParser {
+
+    // Shared, not thread-local, buffer pool: parsing runs on short-lived virtual threads
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+            .build();
+
+    /**
+     * Returns the change event, or {@code null} for an empty message (a Kafka
+     * tombstone).
+     */
+    public ClaimChangeEvent parse(String message) throws IOException {
+        if (message == null || message.isEmpty()) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Debezium envelope is not a JSON object");
+            }
+            PayloadBuilder payload = new PayloadBuilder();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "payload" -> {
+                        if (parser.currentToken() == JsonToken.START_OBJECT) {
+                            PayloadBuilder nested = new PayloadBuilder();
+                            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                                String payloadField = parser.currentName();
+                                parser.nextToken();
+                                nested.read(payloadField, parser);
+                            }
+                            return nested.build();
+                        }
+                    }
+                    // Schemaless converter: payload fields sit at the root
+                    default -> payload.read(field, parser);
+                }
+            }
+            return payload.build();
+        }
+    }
+
+    private static final class PayloadBuilder {
+        private String op;
+        private Map<String, Object> before;
+        private Map<String, Object> after;
+        private Long sourceTsMs;
+
+        void read(String field, JsonParser parser) throws IOException {
+            switch (field) {
+                case "op" -> op = parser.getValueAsString();
+                case "before" -> before = readRow(parser);
+                case "after" -> after = readRow(parser);
+                case "source" -> sourceTsMs = readSourceTimestamp(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        ClaimChangeEvent build() {
+            return new ClaimChangeEvent(op, before, after, sourceTsMs);
+        }
+    }
+
+    private static Map<String, Object> readRow(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        Map<String, Object> row = new HashMap<>(24);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String column = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (token) {
+                case VALUE_STRING -> row.put(column, parser.getText());
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> row.put(column, parser.getNumberValue());
+                case VALUE_TRUE, VALUE_FALSE -> row.put(column, parser.getBooleanValue());
+                case VALUE_NULL -> row.put(column, null);
+                default -> parser.skipChildren();
+            }
+        }
+        return row;
+    }
+
+    private static Long readSourceTimestamp(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        Long tsMs = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("ts_ms".equals(field) && parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                tsMs = parser.getLongValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return tsMs;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.phoenix.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Embedding vectors shared by every {@link CachingEmbeddingModel}, keyed by
+ * provider, model and a SHA-256 of the embedded text. Vectors are held as
+ * plain {@code float[]} and the cache is bounded by their size in bytes
+ * ({@code phoenix.embedding.cache.max-bytes}).
+ */
+@Component
+public class EmbeddingCache {
+
+    // Array header plus the key string, roughly
+    private static final int ENTRY_OVERHEAD_BYTES = 16 + 160;
+
+    private final Cache<String, float[]> vectors;
+    private final boolean enabled;
+
+    public EmbeddingCache(MeterRegistry meterRegistry,
+            @Value("${phoenix.embedding.cache.enabled:true}") boolean enabled,
+            @Value("${phoenix.embedding.cache.max-bytes:67108864}") long maxBytes) {
+        this.enabled = enabled;
+        this.vectors = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, float[] vector) -> ENTRY_OVERHEAD_BYTES + vector.length * Float.BYTES)
+                .recordStats()
+                .build();
+        Gauge.builder("phoenix.embedding.cache.hit.ratio", vectors, cache -> cache.stats().hitRate())
+                .description("Share of embedding lookups served from the cache")
+                .register(meterRegistry);
+        Gauge.builder("phoenix.embedding.cache.bytes", vectors,
+                cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .description("Approximate bytes held by cached embedding vectors")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("phoenix.embedding.cache.entries", vectors, Cache::estimatedSize)
+                .description("Cached embedding vectors")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wraps {@code delegate} so its embeddings go through this cache.
+     */
+    public EmbeddingModel wrap(EmbeddingModel delegate, String provider, String model) {
+        return enabled ? new CachingEmbeddingModel(delegate, this, provider + ":" + model + ":") : delegate;
+    }
+
+    float[] get(String namespace, String text) {
+        return vectors.getIfPresent(key(namespace, text));
+    }
+
+    void put(String namespace, String text, float[] vector) {
+        vectors.put(key(namespace, text), vector);
+    }
+
+    private static String key(String namespace, String text) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return namespace + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
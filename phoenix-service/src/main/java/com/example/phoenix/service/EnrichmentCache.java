@@ -0,0 +1,204 @@
+package com.example.phoenix.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.example.phoenix.model.FraudResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Content-addressed cache of enrichment results. Byte-identical sanitized
+ * descriptions enriched with the same provider and temperature reuse the
+ * earlier summary and fraud result instead of calling the LLM again.
+ * <p>
+ * The in-memory tier is bounded by {@code phoenix.enrichment.cache.max-size}
+ * and {@code ttl}. With {@code phoenix.enrichment.cache.persistent=true},
+ * results are also written to the {@code enrichment_cache} table and read back
+ * on a memory miss, so the cache survives restarts.
+ * <p>
+ * The TTL always runs from when an entry was put: in memory through Caffeine's
+ * {@code expireAfterWrite}, in Postgres by comparing the row's
+ * {@code created_at} with the database's own clock, never the JVM's, so clock
+ * skew or a time zone difference between the two cannot shift expiry. Expired
+ * rows are deleted every {@code phoenix.enrichment.cache.purge-interval}, so
+ * the table holds at most one TTL's worth of distinct descriptions.
+ */
+@Service
+public class EnrichmentCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrichmentCache.class);
+
+    public record CachedEnrichment(String summary, FraudResult fraudResult) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final boolean persistent;
+    private final Duration ttl;
+    private final Cache<String, CachedEnrichment> memory;
+    private final Counter memoryHits;
+    private final Counter persistentHits;
+    private final Counter misses;
+    private final Counter purged;
+    private final Thread purger;
+    private volatile boolean running = true;
+
+    public EnrichmentCache(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${phoenix.enrichment.cache.enabled:true}") boolean enabled,
+            @Value("${phoenix.enrichment.cache.persistent:false}") boolean persistent,
+            @Value("${phoenix.enrichment.cache.max-size:10000}") long maxSize,
+            @Value("${phoenix.enrichment.cache.ttl:24h}") Duration ttl,
+            @Value("${phoenix.enrichment.cache.purge-interval:1h}") Duration purgeInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.persistent = persistent;
+        this.ttl = ttl;
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "phoenix.enrichment.cache");
+        this.memoryHits = lookups(meterRegistry, "hit", "memory");
+        this.persistentHits = lookups(meterRegistry, "hit", "postgres");
+        this.misses = lookups(meterRegistry, "miss", "none");
+        this.purged = Counter.builder("phoenix.enrichment.cache.purged")
+                .description("Expired rows deleted from the persistent enrichment cache")
+                .register(meterRegistry);
+        this.purger = !(enabled && persistent) ? null
+                : Thread.ofVirtual().name("enrichment-cache-purge").start(() -> {
+                    while (running) {
+                        try {
+                            Thread.sleep(purgeInterval);
+                            purgeExpired();
+                        } catch (InterruptedException e) {
+                            return;
+                        } catch (Exception e) {
+                            log.warn("Could not purge expired enrichment cache entries: {}", e.getMessage());
+                        }
+                    }
+                });
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result, String tier) {
+        return Counter.builder("phoenix.enrichment.cache.lookups")
+                .description("Enrichment result cache lookups")
+                .tag("result", result)
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+
+    public static String key(String sanitizedDescription, String provider, Double temperature) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(AiService.resolve(provider).name().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(temperature).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(sanitizedDescription.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Optional<CachedEnrichment> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        CachedEnrichment cached = memory.getIfPresent(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return Optional.of(cached);
+        }
+        if (persistent) {
+            cached = loadPersistent(key);
+            if (cached != null) {
+                memory.put(key, cached);
+                persistentHits.increment();
+                return Optional.of(cached);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String key, String provider, Double temperature, CachedEnrichment enrichment) {
+        if (!enabled) {
+            return;
+        }
+        memory.put(key, enrichment);
+        if (persistent) {
+            try {
+                FraudResult fraud = enrichment.fraudResult();
+                jdbcTemplate.update("""
+                        INSERT INTO enrichment_cache (content_hash, ai_provider, ai_temperature, summary,
+                            fraud_score, fraud_analysis, fraud_rationale, fraud_thought)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                        ON CONFLICT (content_hash) DO UPDATE SET summary = EXCLUDED.summary,
+                            fraud_score = EXCLUDED.fraud_score, fraud_analysis = EXCLUDED.fraud_analysis,
+                            fraud_rationale = EXCLUDED.fraud_rationale, fraud_thought = EXCLUDED.fraud_thought,
+                            created_at = LOCALTIMESTAMP
+                        """, key, provider, temperature, enrichment.summary(), fraud.score(), fraud.analysis(),
+                        fraud.rationale(), fraud.thought());
+            } catch (Exception e) {
+                log.warn("Could not persist enrichment cache entry: {}", e.getMessage());
+            }
+        }
+    }
+
+    private CachedEnrichment loadPersistent(String key) {
+        try {
+            List<CachedEnrichment> rows = jdbcTemplate.query("""
+                    SELECT summary, fraud_score, fraud_analysis, fraud_rationale, fraud_thought
+                    FROM enrichment_cache
+                    WHERE content_hash = ? AND created_at > LOCALTIMESTAMP - ? * INTERVAL '1 second'
+                    """, (rs, rowNum) -> new CachedEnrichment(rs.getString("summary"),
+                    new FraudResult(rs.getInt("fraud_score"), rs.getString("fraud_analysis"),
+                            rs.getString("fraud_rationale"), rs.getString("fraud_thought"))),
+                    key, ttl.toSeconds());
+            return rows.isEmpty() ? null : rows.get(0);
+        } catch (Exception e) {
+            log.warn("Could not read enrichment cache entry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /** Deletes the rows {@link #loadPersistent} would no longer return. */
+    int purgeExpired() {
+        int deleted = jdbcTemplate.update("""
+                DELETE FROM enrichment_cache WHERE created_at <= LOCALTIMESTAMP - ? * INTERVAL '1 second'
+                """, ttl.toSeconds());
+        purged.increment(deleted);
+        if (deleted > 0) {
+            log.debug("Purged {} expired enrichment cache entries", deleted);
+        }
+        return deleted;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (purger != null) {
+            purger.interrupt();
+            purger.join(Duration.ofSeconds(10));
+        }
+    }
+}
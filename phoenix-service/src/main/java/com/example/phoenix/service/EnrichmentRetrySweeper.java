@@ -0,0 +1,83 @@
+package com.example.phoenix.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Re-runs enrichment of claims that no CDC event will bring back: FAILED
+ * claims with attempts left, claims deferred back to PENDING under load, and
+ * ENRICHING claims whose pipeline died (see
+ * {@link com.example.phoenix.repository.ClaimRepository#RETRYABLE}).
+ * <p>
+ * Every {@code phoenix.enrichment.retry.interval} up to
+ * {@code phoenix.enrichment.retry.batch-size} of them are re-run concurrently;
+ * the next sweep starts once that batch is done. The conditional claim UPDATE
+ * keeps a sweep from racing a CDC event or another instance for the same claim.
+ */
+@Service
+public class EnrichmentRetrySweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrichmentRetrySweeper.class);
+
+    private final ClaimProcessor claimProcessor;
+    private final int batchSize;
+    private final Counter retried;
+    private final Thread sweeper;
+    private volatile boolean running = true;
+
+    public EnrichmentRetrySweeper(ClaimProcessor claimProcessor, MeterRegistry meterRegistry,
+            @Value("${phoenix.enrichment.retry.enabled:true}") boolean enabled,
+            @Value("${phoenix.enrichment.retry.interval:1m}") Duration interval,
+            @Value("${phoenix.enrichment.retry.batch-size:8}") int batchSize) {
+        this.claimProcessor = claimProcessor;
+        this.batchSize = batchSize;
+        this.retried = Counter.builder("phoenix.enrichment.retried")
+                .description("Claims re-run by the enrichment retry sweeper")
+                .register(meterRegistry);
+        this.sweeper = !enabled ? null : Thread.ofVirtual().name("enrichment-retry").start(() -> {
+            while (running) {
+                try {
+                    Thread.sleep(interval);
+                    sweep();
+                } catch (InterruptedException e) {
+                    return;
+                } catch (Exception e) {
+                    log.error("Enrichment retry sweep failed: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void sweep() {
+        List<Long> claimIds = claimProcessor.findRetryable(batchSize);
+        if (claimIds.isEmpty()) {
+            return;
+        }
+        log.info("Retrying enrichment of claims {}", claimIds);
+        retried.increment(claimIds.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            claimIds.forEach(claimId -> executor.execute(() -> claimProcessor.retryEnrichment(claimId)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (sweeper != null) {
+            // Interrupted pipelines defer their claims to PENDING, so a restart picks them up again
+            sweeper.interrupt();
+            sweeper.join(Duration.ofSeconds(30));
+        }
+    }
+}
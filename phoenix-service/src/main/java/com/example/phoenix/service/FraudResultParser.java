@@ -0,0 +1,199 @@
+package com.example.phoenix.service;
+
+import java.util.Arrays;
+
+import com.example.phoenix.model.FraudResult;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Parses the fraud agent's answer into a {@link FraudResult}.
+ * <p>
+ * Two formats are accepted:
+ * <ul>
+ * <li>JSON matching the {@link FraudResult} schema (structured output), optionally
+ * wrapped in a markdown code fence</li>
+ * <li>the THOUGHT / SCORE / ANALYSIS / RATIONALE text format, located in a single
+ * linear scan that tolerates any section order, missing sections, markdown
+ * emphasis around headers and {@code SCORE - 42} style separators</li>
+ * </ul>
+ * A header needs a {@code :} (or, for SCORE, a {@code -}) separator, so a
+ * number the model mentions in its reasoning ("fraud score 85 is unlikely")
+ * never wins over the real {@code SCORE: 20}. Only when no such header exists
+ * is a bare {@code SCORE 20} accepted.
+ * <p>
+ * Returns {@code null} when no score between 0 and 100 can be found, so the
+ * caller can ask the model to correct itself.
+ */
+public final class FraudResultParser {
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final int THOUGHT = 0;
+    private static final int SCORE = 1;
+    private static final int ANALYSIS = 2;
+    private static final int RATIONALE = 3;
+    private static final String[] HEADERS = { "THOUGHT", "SCORE", "ANALYSIS", "RATIONALE" };
+
+    private FraudResultParser() {
+    }
+
+    public static FraudResult parse(String response) {
+        if (response == null || response.isBlank()) {
+            return null;
+        }
+        FraudResult json = parseJson(response);
+        return json != null ? json : parseSections(response);
+    }
+
+    static FraudResult parseJson(String response) {
+        int start = response.indexOf('{');
+        int end = response.lastIndexOf('}');
+        if (start < 0 || end <= start) {
+            return null;
+        }
+        // Only a bare object or one inside a code fence; braces inside prose are not structured output
+        String prefix = response.substring(0, start).strip();
+        if (!prefix.isEmpty() && !prefix.startsWith("```")) {
+            return null;
+        }
+        try {
+            FraudResult result = JSON.readValue(response.substring(start, end + 1), FraudResult.class);
+            return isValidScore(result.score()) ? withDefaults(result) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    static FraudResult parseSections(String text) {
+        // For each section: where its header starts and where its content starts (-1 = absent)
+        int[] headerAt = { -1, -1, -1, -1 };
+        int[] contentAt = { -1, -1, -1, -1 };
+        int score = scanSections(text, false, headerAt, contentAt);
+        if (!isValidScore(score)) {
+            // No "SCORE:" header; fall back to a bare "SCORE 42"
+            Arrays.fill(headerAt, -1);
+            Arrays.fill(contentAt, -1);
+            score = scanSections(text, true, headerAt, contentAt);
+        }
+
+        if (!isValidScore(score)) {
+            return null;
+        }
+        String thought = section(text, THOUGHT, headerAt, contentAt, "Agent skipped explicit reasoning.");
+        String analysis = section(text, ANALYSIS, headerAt, contentAt, "N/A");
+        String rationale = section(text, RATIONALE, headerAt, contentAt, "N/A");
+        return new FraudResult(score, analysis, rationale, thought);
+    }
+
+    /**
+     * Records the first header of each section and returns the score, or -1.
+     * With {@code bareScore} a SCORE header may omit its separator.
+     */
+    private static int scanSections(String text, boolean bareScore, int[] headerAt, int[] contentAt) {
+        int length = text.length();
+        int score = -1;
+        for (int i = 0; i < length; i++) {
+            if (!isHeaderStart(text, i)) {
+                continue;
+            }
+            int section = headerAt(text, i);
+            if (section < 0 || headerAt[section] >= 0) {
+                continue;
+            }
+            int cursor = i + HEADERS[section].length();
+            cursor = skip(text, cursor, " \t*");
+            boolean separator = cursor < length && (text.charAt(cursor) == ':'
+                    || section == SCORE && text.charAt(cursor) == '-');
+            if (separator) {
+                cursor++;
+            } else if (section != SCORE || !bareScore) {
+                continue;
+            }
+            cursor = skip(text, cursor, " \t\r\n*");
+
+            if (section == SCORE) {
+                int digitsEnd = cursor;
+                while (digitsEnd < length && digitsEnd - cursor < 4 && Character.isDigit(text.charAt(digitsEnd))) {
+                    digitsEnd++;
+                }
+                int digits = digitsEnd - cursor;
+                if (digits == 0 || digits > 3) {
+                    continue;
+                }
+                score = Integer.parseInt(text, cursor, digitsEnd, 10);
+                cursor = digitsEnd;
+            }
+            headerAt[section] = i;
+            contentAt[section] = cursor;
+            i = cursor - 1;
+        }
+        return score;
+    }
+
+    /** A header may only start a word, optionally behind markdown emphasis or list markers. */
+    private static boolean isHeaderStart(String text, int i) {
+        char c = text.charAt(i);
+        if (c != 'T' && c != 't' && c != 'S' && c != 's' && c != 'A' && c != 'a' && c != 'R' && c != 'r') {
+            return false;
+        }
+        return i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1));
+    }
+
+    private static int headerAt(String text, int i) {
+        for (int section = 0; section < HEADERS.length; section++) {
+            String header = HEADERS[section];
+            if (text.regionMatches(true, i, header, 0, header.length())
+                    && (i + header.length() == text.length()
+                            || !Character.isLetterOrDigit(text.charAt(i + header.length())))) {
+                return section;
+            }
+        }
+        return -1;
+    }
+
+    /** A section runs until the next recognised header, or to the end of the text. */
+    private static String section(String text, int section, int[] headerAt, int[] contentAt, String fallback) {
+        int start = contentAt[section];
+        if (start < 0) {
+            return fallback;
+        }
+        int end = text.length();
+        for (int other = 0; other < HEADERS.length; other++) {
+            if (headerAt[other] >= start && headerAt[other] < end) {
+                end = headerAt[other];
+            }
+        }
+        String value = trim(text, start, end);
+        return value.isEmpty() ? fallback : value;
+    }
+
+    private static int skip(String text, int from, String chars) {
+        while (from < text.length() && chars.indexOf(text.charAt(from)) >= 0) {
+            from++;
+        }
+        return from;
+    }
+
+    private static String trim(String text, int start, int end) {
+        while (start < end && (Character.isWhitespace(text.charAt(start)) || text.charAt(start) == '*')) {
+            start++;
+        }
+        while (end > start && (Character.isWhitespace(text.charAt(end - 1)) || text.charAt(end - 1) == '*')) {
+            end--;
+        }
+        return text.substring(start, end);
+    }
+
+    private static boolean isValidScore(int score) {
+        return score >= 0 && score <= 100;
+    }
+
+    private static FraudResult withDefaults(FraudResult result) {
+        return new FraudResult(result.score(),
+                result.analysis() != null ? result.analysis() : "N/A",
+                result.rationale() != null ? result.rationale() : "N/A",
+                result.thought() != null ? result.thought() : "Agent skipped explicit reasoning.");
+    }
+}
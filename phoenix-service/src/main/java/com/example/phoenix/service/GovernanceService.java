@@ -2,10 +2,11 @@ package com.example.phoenix.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Enterprise Governance Service
@@ -23,12 +24,22 @@ public class GovernanceService {
 
     private static final Logger log = LoggerFactory.getLogger(GovernanceService.class);
 
-    private static final Map<Pattern, String> REDACTION_RULES = Map.of(
-            Pattern.compile("\\b\\d{3}-\\d{2}-\\d{4}\\b|\\b\\d{9}\\b"), "[REDACTED_SSN]",
-            Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}"), "[REDACTED_EMAIL]",
-            Pattern.compile("(?i)\\b(POL|POLICY)-\\d{4,10}\\b"), "[REDACTED_POLICY_ID]"
+    // Order matters: where rules overlap, the earlier one wins
+    static final List<RedactionRule> DEFAULT_RULES = List.of(
+            new RedactionRule("ssn", "\\b\\d{3}-\\d{2}-\\d{4}\\b|\\b\\d{9}\\b", "[REDACTED_SSN]"),
+            new RedactionRule("email", "[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}", "[REDACTED_EMAIL]"),
+            new RedactionRule("policy-id", "(?i)\\b(POL|POLICY)-\\d{4,10}\\b", "[REDACTED_POLICY_ID]")
     );
 
+    private final RedactionEngine redactionEngine;
+
+    public GovernanceService(ObjectProvider<RedactionRule> extraRules) {
+        List<RedactionRule> rules = new ArrayList<>(DEFAULT_RULES);
+        extraRules.orderedStream().forEach(rules::add);
+        this.redactionEngine = new RedactionEngine(rules);
+        log.info("Governance redaction rules: {}", rules.stream().map(RedactionRule::name).toList());
+    }
+
     /**
      * Redacts sensitive data from claim text.
      */
@@ -39,21 +50,13 @@ public class GovernanceService {
 
         log.debug("Running governance scrub on input (length: {})", input.length());
 
-        String[] redacted = {input};
-        boolean changed = false;
-
-        for (Map.Entry<Pattern, String> rule : REDACTION_RULES.entrySet()) {
-            String result = rule.getKey().matcher(redacted[0]).replaceAll(rule.getValue());
-            if (!result.equals(redacted[0])) {
-                redacted[0] = result;
-                changed = true;
-            }
-        }
+        String redacted = redactionEngine.redact(input);
 
-        if (changed) {
+        // The engine returns the same instance when nothing matched
+        if (redacted != input) {
             log.info("Governance: PII detected and redacted from claim stream.");
         }
 
-        return redacted[0];
+        return redacted;
     }
 }
@@ -0,0 +1,400 @@
+package com.example.phoenix.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+/**
+ * Hierarchical Navigable Small World graph over primitive float vectors.
+ * <p>
+ * Vectors are L2-normalized on insert, so the similarity is the cosine
+ * (a plain dot product). Removal only tombstones a node: it keeps routing
+ * searches but is never returned. Not thread-safe; {@link HnswVectorStore}
+ * serializes writes and lets searches run under a shared lock.
+ */
+public final class HnswIndex {
+
+    private static final int MAGIC = 0x484E5357; // "HNSW"
+    private static final int VERSION = 1;
+
+    public record Result(int node, float score) {
+    }
+
+    private final int dimensions;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+
+    private float[][] vectors = new float[16][];
+    private int[] levels = new int[16];
+    // neighbors[node][level] = {count, n1, n2, ...}
+    private int[][][] neighbors = new int[16][][];
+    private final BitSet deleted = new BitSet();
+    private int size;
+    private int liveCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimensions, int m, int efConstruction, long seed) {
+        this.dimensions = dimensions;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+        this.random = new Random(seed);
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /** Number of nodes ever inserted, including tombstoned ones. */
+    public int size() {
+        return size;
+    }
+
+    public int liveCount() {
+        return liveCount;
+    }
+
+    public boolean isDeleted(int node) {
+        return deleted.get(node);
+    }
+
+    /** The node's stored (normalized) vector; used to rebuild the graph without tombstones. */
+    public float[] vector(int node) {
+        return vectors[node];
+    }
+
+    public int add(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException(
+                    "Expected " + dimensions + " dimensions but got " + vector.length);
+        }
+        int node = size;
+        ensureCapacity(node + 1);
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        vectors[node] = normalize(vector);
+        levels[node] = level;
+        neighbors[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            neighbors[node][l] = new int[maxConnections(l) + 1];
+        }
+        size++;
+        liveCount++;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return node;
+        }
+
+        float[] query = vectors[node];
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(query, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Result> candidates = searchLayer(query, current, efConstruction, l, null);
+            List<Result> selected = selectNeighbors(candidates, maxConnections(l));
+            int[] own = neighbors[node][l];
+            for (Result r : selected) {
+                own[++own[0]] = r.node();
+                connect(r.node(), node, l);
+            }
+            current = candidates.getFirst().node();
+        }
+        if (level > maxLevel) {
+            entryPoint = node;
+            maxLevel = level;
+        }
+        return node;
+    }
+
+    public void remove(int node) {
+        if (node >= 0 && node < size && !deleted.get(node)) {
+            deleted.set(node);
+            liveCount--;
+        }
+    }
+
+    /**
+     * Approximate top-k search. Only live nodes accepted by {@code filter}
+     * (may be null) are returned; all nodes are still used for routing, so a
+     * selective filter degrades towards an exhaustive walk rather than losing
+     * results.
+     */
+    public List<Result> search(float[] query, int k, int ef, IntPredicate filter) {
+        if (entryPoint < 0 || k <= 0) {
+            return List.of();
+        }
+        float[] q = normalize(query);
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            current = greedyClosest(q, current, l);
+        }
+        IntPredicate accept = node -> !deleted.get(node) && (filter == null || filter.test(node));
+        List<Result> results = searchLayer(q, current, Math.max(ef, k), 0, accept);
+        return results.size() > k ? results.subList(0, k) : results;
+    }
+
+    /** Exact top-k by scanning every live node; the recall baseline for {@link #search}. */
+    public List<Result> bruteForce(float[] query, int k, IntPredicate filter) {
+        float[] q = normalize(query);
+        PriorityQueue<Result> top = new PriorityQueue<>(Comparator.comparingDouble(Result::score));
+        for (int node = 0; node < size; node++) {
+            if (deleted.get(node) || (filter != null && !filter.test(node))) {
+                continue;
+            }
+            top.add(new Result(node, dot(q, vectors[node])));
+            if (top.size() > k) {
+                top.poll();
+            }
+        }
+        List<Result> results = new ArrayList<>(top);
+        results.sort(Comparator.comparingDouble(Result::score).reversed());
+        return results;
+    }
+
+    private int maxConnections(int level) {
+        return level == 0 ? maxM0 : m;
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float best = dot(query, vectors[current]);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] adj = neighbors[current][level];
+            for (int i = 1; i <= adj[0]; i++) {
+                float score = dot(query, vectors[adj[i]]);
+                if (score > best) {
+                    best = score;
+                    current = adj[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first beam search on one layer. Returns up to {@code ef} results
+     * ordered by descending similarity; when {@code accept} is set only
+     * accepted nodes enter the result set.
+     */
+    private List<Result> searchLayer(float[] query, int start, int ef, int level, IntPredicate accept) {
+        BitSet visited = new BitSet(size);
+        PriorityQueue<Result> candidates = new PriorityQueue<>(
+                Comparator.comparingDouble(Result::score).reversed());
+        PriorityQueue<Result> results = new PriorityQueue<>(Comparator.comparingDouble(Result::score));
+
+        Result first = new Result(start, dot(query, vectors[start]));
+        visited.set(start);
+        candidates.add(first);
+        if (accept == null || accept.test(start)) {
+            results.add(first);
+        }
+
+        while (!candidates.isEmpty()) {
+            Result candidate = candidates.poll();
+            if (results.size() >= ef && candidate.score() < results.peek().score()) {
+                break;
+            }
+            int[] adj = neighbors[candidate.node()][level];
+            for (int i = 1; i <= adj[0]; i++) {
+                int next = adj[i];
+                if (visited.get(next)) {
+                    continue;
+                }
+                visited.set(next);
+                float score = dot(query, vectors[next]);
+                if (results.size() < ef || score > results.peek().score()) {
+                    Result r = new Result(next, score);
+                    candidates.add(r);
+                    if (accept == null || accept.test(next)) {
+                        results.add(r);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+        List<Result> ordered = new ArrayList<>(results);
+        ordered.sort(Comparator.comparingDouble(Result::score).reversed());
+        return ordered;
+    }
+
+    /**
+     * Neighbor selection heuristic from the HNSW paper: keep a candidate only
+     * if it is closer to the base than to any neighbor already kept, then top
+     * up with the pruned ones so nodes stay well connected.
+     */
+    private List<Result> selectNeighbors(List<Result> candidates, int max) {
+        List<Result> selected = new ArrayList<>(max);
+        List<Result> pruned = new ArrayList<>();
+        for (Result candidate : candidates) {
+            if (selected.size() >= max) {
+                break;
+            }
+            float[] cv = vectors[candidate.node()];
+            boolean diverse = true;
+            for (Result kept : selected) {
+                if (dot(cv, vectors[kept.node()]) > candidate.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            (diverse ? selected : pruned).add(candidate);
+        }
+        for (int i = 0; i < pruned.size() && selected.size() < max; i++) {
+            selected.add(pruned.get(i));
+        }
+        return selected;
+    }
+
+    private void connect(int node, int newNeighbor, int level) {
+        int[] adj = neighbors[node][level];
+        int max = maxConnections(level);
+        if (adj[0] < max) {
+            adj[++adj[0]] = newNeighbor;
+            return;
+        }
+        // Full: re-select among the existing neighbors plus the new one, unless
+        // the new one is farther than all of them and would be dropped anyway
+        float[] base = vectors[node];
+        float newScore = dot(base, vectors[newNeighbor]);
+        float worst = Float.MAX_VALUE;
+        List<Result> candidates = new ArrayList<>(max + 1);
+        for (int i = 1; i <= adj[0]; i++) {
+            Result existing = new Result(adj[i], dot(base, vectors[adj[i]]));
+            worst = Math.min(worst, existing.score());
+            candidates.add(existing);
+        }
+        if (newScore <= worst) {
+            return;
+        }
+        candidates.add(new Result(newNeighbor, newScore));
+        candidates.sort(Comparator.comparingDouble(Result::score).reversed());
+        List<Result> selected = selectNeighbors(candidates, max);
+        adj[0] = selected.size();
+        for (int i = 0; i < selected.size(); i++) {
+            adj[i + 1] = selected.get(i).node();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > vectors.length) {
+            int grown = Math.max(capacity, vectors.length * 2);
+            vectors = Arrays.copyOf(vectors, grown);
+            levels = Arrays.copyOf(levels, grown);
+            neighbors = Arrays.copyOf(neighbors, grown);
+        }
+    }
+
+    private float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        float[] normalized = vector.clone();
+        if (norm > 0) {
+            float inv = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < normalized.length; i++) {
+                normalized[i] *= inv;
+            }
+        }
+        return normalized;
+    }
+
+    // Four independent accumulators break the floating-point dependency chain so the JIT can pipeline the loop
+    private static float dot(float[] a, float[] b) {
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (int bound = a.length & ~3; i < bound; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < a.length; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    // --- Serialization ---
+
+    public long serializedSize() {
+        long bytes = 8L * Integer.BYTES;
+        for (int node = 0; node < size; node++) {
+            bytes += 2L * Integer.BYTES + (long) dimensions * Float.BYTES;
+            for (int[] adj : neighbors[node]) {
+                bytes += (long) (adj[0] + 1) * Integer.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(dimensions).putInt(m).putInt(efConstruction)
+                .putInt(size).putInt(entryPoint).putInt(maxLevel);
+        for (int node = 0; node < size; node++) {
+            buffer.putInt(levels[node]).putInt(deleted.get(node) ? 1 : 0);
+            buffer.asFloatBuffer().put(vectors[node]);
+            buffer.position(buffer.position() + dimensions * Float.BYTES);
+            for (int[] adj : neighbors[node]) {
+                buffer.putInt(adj[0]);
+                for (int i = 1; i <= adj[0]; i++) {
+                    buffer.putInt(adj[i]);
+                }
+            }
+        }
+    }
+
+    public static HnswIndex readFrom(ByteBuffer buffer, long seed) {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalStateException("Not an HNSW index snapshot (or unsupported version)");
+        }
+        HnswIndex index = new HnswIndex(buffer.getInt(), buffer.getInt(), buffer.getInt(), seed);
+        int count = buffer.getInt();
+        index.ensureCapacity(count);
+        index.entryPoint = buffer.getInt();
+        index.maxLevel = buffer.getInt();
+        for (int node = 0; node < count; node++) {
+            int level = buffer.getInt();
+            boolean removed = buffer.getInt() != 0;
+            float[] vector = new float[index.dimensions];
+            buffer.asFloatBuffer().get(vector);
+            buffer.position(buffer.position() + index.dimensions * Float.BYTES);
+            index.vectors[node] = vector;
+            index.levels[node] = level;
+            index.neighbors[node] = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                int[] adj = new int[index.maxConnections(l) + 1];
+                adj[0] = buffer.getInt();
+                for (int i = 1; i <= adj[0]; i++) {
+                    adj[i] = buffer.getInt();
+                }
+                index.neighbors[node][l] = adj;
+            }
+            if (removed) {
+                index.deleted.set(node);
+            } else {
+                index.liveCount++;
+            }
+        }
+        index.size = count;
+        return index;
+    }
+}
@@ -0,0 +1,468 @@
+package com.example.phoenix.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * In-process {@link VectorStore} backed by an {@link HnswIndex}, for dev and
+ * edge nodes that should not need a Weaviate container.
+ * <p>
+ * Writes take an exclusive lock and searches a shared one. The index and the
+ * documents are snapshotted to a memory-mapped file every
+ * {@code snapshotInterval} when dirty and on close, written to a temp file and
+ * atomically moved into place so a crash never leaves a torn snapshot.
+ * Search requests may carry metadata filter expressions (e.g.
+ * {@code claim_id == 42 && source == 'legacy_db'}); they are evaluated against
+ * each candidate during the graph walk. Comparison, {@code IN}/{@code NIN}
+ * and boolean operators are supported; any other operator is rejected with an
+ * {@link IllegalArgumentException} before the search starts.
+ * <p>
+ * Deleting (or re-adding) a document tombstones its node and drops its text
+ * and metadata. Once tombstones outnumber live nodes the graph is rebuilt from
+ * the live vectors, so memory follows the live document count.
+ */
+public class HnswVectorStore implements VectorStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HnswVectorStore.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+    private static final long SEED = 0x5EED;
+    // Below this many tombstones a rebuild is not worth its cost
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    private final String name;
+    private final EmbeddingModel embeddingModel;
+    private final Path snapshotFile;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes snapshots; they only take the shared read lock and all write the same temp file
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final Thread snapshotter;
+    private volatile boolean running = true;
+
+    // Guarded by lock; documents are indexed by HNSW node id, null for tombstoned nodes
+    private HnswIndex index;
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<String, Integer> nodesById = new HashMap<>();
+
+    public HnswVectorStore(String name, EmbeddingModel embeddingModel, Path snapshotFile, int m,
+            int efConstruction, int efSearch, Duration snapshotInterval) {
+        this.name = name;
+        this.embeddingModel = embeddingModel;
+        this.snapshotFile = snapshotFile;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        load();
+        this.snapshotter = Thread.ofVirtual().name("hnsw-snapshot-" + name).start(() -> {
+            while (running) {
+                try {
+                    Thread.sleep(snapshotInterval);
+                    snapshot();
+                } catch (InterruptedException e) {
+                    return;
+                } catch (Exception e) {
+                    // Interrupted mid-write by close(), which writes the snapshot again
+                    if (running) {
+                        log.error("Snapshot of {} vector store failed: {}", name, e.getMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index == null ? 0 : index.liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(List<Document> docs) {
+        if (docs.isEmpty()) {
+            return;
+        }
+        // Embed outside the lock; the model call is the slow part
+        List<float[]> embeddings = embeddingModel.embed(docs.stream()
+                .map(doc -> Objects.requireNonNullElse(doc.getText(), ""))
+                .toList());
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < docs.size(); i++) {
+                Document doc = docs.get(i);
+                float[] embedding = embeddings.get(i);
+                if (index == null) {
+                    index = new HnswIndex(embedding.length, m, efConstruction, SEED);
+                }
+                Integer previous = nodesById.get(doc.getId());
+                if (previous != null) {
+                    removeNode(previous);
+                }
+                int node = index.add(embedding);
+                documents.add(Document.builder()
+                        .id(doc.getId())
+                        .text(doc.getText())
+                        .metadata(doc.getMetadata())
+                        .build());
+                nodesById.put(doc.getId(), node);
+            }
+            dirty.set(true);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(List<String> idList) {
+        lock.writeLock().lock();
+        try {
+            for (String id : idList) {
+                Integer node = nodesById.remove(id);
+                if (node != null) {
+                    removeNode(node);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+        validate(filterExpression);
+        lock.writeLock().lock();
+        try {
+            for (int node = 0; index != null && node < index.size(); node++) {
+                Document doc = documents.get(node);
+                if (doc != null && matches(filterExpression, doc.getMetadata())) {
+                    nodesById.remove(doc.getId());
+                    removeNode(node);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+        validate(request.getFilterExpression());
+        float[] query = embeddingModel.embed(request.getQuery());
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return List.of();
+            }
+            List<HnswIndex.Result> results = index.search(query, request.getTopK(), efSearch,
+                    metadataFilter(request.getFilterExpression()));
+            return toDocuments(results, request.getSimilarityThreshold());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Exact search over the same data, used as the recall baseline when benchmarking. */
+    public List<Document> bruteForceSearch(SearchRequest request) {
+        validate(request.getFilterExpression());
+        float[] query = embeddingModel.embed(request.getQuery());
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return List.of();
+            }
+            List<HnswIndex.Result> results = index.bruteForce(query, request.getTopK(),
+                    metadataFilter(request.getFilterExpression()));
+            return toDocuments(results, request.getSimilarityThreshold());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Tombstones a node and releases its document. Caller holds the write lock. */
+    private void removeNode(int node) {
+        index.remove(node);
+        documents.set(node, null);
+        dirty.set(true);
+    }
+
+    /**
+     * Rebuilds the graph from the live nodes once tombstones outnumber them.
+     * Node ids change, so documents and the id lookup are rebuilt alongside.
+     * Caller holds the write lock.
+     */
+    private void compactIfNeeded() {
+        int tombstones = index == null ? 0 : index.size() - index.liveCount();
+        if (tombstones < MIN_TOMBSTONES_TO_COMPACT || tombstones <= index.liveCount()) {
+            return;
+        }
+        HnswIndex compacted = new HnswIndex(index.dimensions(), m, efConstruction, SEED);
+        List<Document> live = new ArrayList<>(index.liveCount());
+        nodesById.clear();
+        for (int node = 0; node < index.size(); node++) {
+            if (!index.isDeleted(node)) {
+                Document doc = documents.get(node);
+                nodesById.put(doc.getId(), compacted.add(index.vector(node)));
+                live.add(doc);
+            }
+        }
+        log.info("Compacted {} vector store: dropped {} deleted nodes, {} live", name, tombstones, live.size());
+        index = compacted;
+        documents.clear();
+        documents.addAll(live);
+        dirty.set(true);
+    }
+
+    private IntPredicate metadataFilter(Filter.Expression expression) {
+        return expression == null ? null : node -> matches(expression, documents.get(node).getMetadata());
+    }
+
+    private List<Document> toDocuments(List<HnswIndex.Result> results, double threshold) {
+        List<Document> docs = new ArrayList<>(results.size());
+        for (HnswIndex.Result result : results) {
+            if (result.score() < threshold) {
+                continue;
+            }
+            Document doc = documents.get(result.node());
+            docs.add(Document.builder()
+                    .id(doc.getId())
+                    .text(doc.getText())
+                    .metadata(doc.getMetadata())
+                    .score((double) result.score())
+                    .build());
+        }
+        return docs;
+    }
+
+    // --- Metadata filters ---
+
+    /** Rejects expressions {@link #matches} cannot evaluate, naming the offending operator. */
+    static void validate(Filter.Expression expression) {
+        if (expression == null) {
+            return;
+        }
+        switch (expression.type()) {
+            case AND, OR -> {
+                validate(operand(expression.left()));
+                validate(operand(expression.right()));
+            }
+            case NOT -> validate(operand(expression.left()));
+            case EQ, NE, GT, GTE, LT, LTE, IN, NIN -> {
+                if (!(expression.left() instanceof Filter.Key) || !(expression.right() instanceof Filter.Value)) {
+                    throw new IllegalArgumentException(
+                            "Filter operator " + expression.type() + " needs a metadata key and a value");
+                }
+            }
+            default -> throw new IllegalArgumentException(
+                    "Filter operator " + expression.type() + " is not supported by the in-memory vector store");
+        }
+    }
+
+    static boolean matches(Filter.Expression expression, Map<String, Object> metadata) {
+        return switch (expression.type()) {
+            case AND -> matches(operand(expression.left()), metadata)
+                    && matches(operand(expression.right()), metadata);
+            case OR -> matches(operand(expression.left()), metadata)
+                    || matches(operand(expression.right()), metadata);
+            case NOT -> !matches(operand(expression.left()), metadata);
+            case EQ -> valueEquals(field(expression, metadata), value(expression));
+            case NE -> !valueEquals(field(expression, metadata), value(expression));
+            case GT -> inRange(expression, metadata, c -> c > 0);
+            case GTE -> inRange(expression, metadata, c -> c >= 0);
+            case LT -> inRange(expression, metadata, c -> c < 0);
+            case LTE -> inRange(expression, metadata, c -> c <= 0);
+            case IN -> anyEquals(field(expression, metadata), value(expression));
+            case NIN -> !anyEquals(field(expression, metadata), value(expression));
+            default -> throw new IllegalArgumentException(
+                    "Filter operator " + expression.type() + " is not supported by the in-memory vector store");
+        };
+    }
+
+    private static Filter.Expression operand(Filter.Operand operand) {
+        return operand instanceof Filter.Group group ? group.content() : (Filter.Expression) operand;
+    }
+
+    private static Object field(Filter.Expression expression, Map<String, Object> metadata) {
+        String key = ((Filter.Key) expression.left()).key();
+        // Keys may arrive quoted when they contain special characters
+        if (key.length() > 1 && (key.startsWith("\"") || key.startsWith("'"))) {
+            key = key.substring(1, key.length() - 1);
+        }
+        return metadata.get(key);
+    }
+
+    private static Object value(Filter.Expression expression) {
+        return ((Filter.Value) expression.right()).value();
+    }
+
+    private static boolean anyEquals(Object field, Object values) {
+        if (values instanceof List<?> list) {
+            return list.stream().anyMatch(v -> valueEquals(field, v));
+        }
+        return valueEquals(field, values);
+    }
+
+    // Numbers compare by value so a Long claim_id matches an Integer literal (and survives JSON round trips)
+    private static boolean valueEquals(Object field, Object value) {
+        if (field instanceof Number && value instanceof Number) {
+            return compare(field, value) == 0;
+        }
+        return field != null && value != null && field.toString().equals(value.toString());
+    }
+
+    private static boolean inRange(Filter.Expression expression, Map<String, Object> metadata,
+            IntPredicate comparison) {
+        Object field = field(expression, metadata);
+        Object value = value(expression);
+        // Missing fields never satisfy a range predicate
+        return field != null && value != null && comparison.test(compare(field, value));
+    }
+
+    private static int compare(Object field, Object value) {
+        if (field instanceof Number && value instanceof Number) {
+            return new BigDecimal(field.toString()).compareTo(new BigDecimal(value.toString()));
+        }
+        return field.toString().compareTo(value.toString());
+    }
+
+    // --- Persistence ---
+
+    private void load() {
+        if (!Files.exists(snapshotFile)) {
+            log.info("No snapshot for {} vector store at {}; starting empty", name, snapshotFile);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            index = HnswIndex.readFrom(buffer, SEED);
+            for (int node = 0; node < index.size(); node++) {
+                String id = readString(buffer);
+                String text = readString(buffer);
+                String metadata = readString(buffer);
+                if (index.isDeleted(node)) {
+                    documents.add(null);
+                    continue;
+                }
+                documents.add(Document.builder()
+                        .id(id)
+                        .text(text)
+                        .metadata(MAPPER.readValue(metadata, METADATA_TYPE))
+                        .build());
+                nodesById.put(id, node);
+            }
+            log.info("Loaded {} vector store snapshot with {} documents", name, index.liveCount());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load vector store snapshot " + snapshotFile, e);
+        }
+    }
+
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        lock.readLock().lock();
+        try {
+            if (!dirty.getAndSet(false) || index == null) {
+                return;
+            }
+            // Serialize the documents first so the mapped region can be sized exactly
+            List<byte[]> encoded = new ArrayList<>(documents.size() * 3);
+            long bytes = index.serializedSize();
+            for (Document doc : documents) {
+                // Tombstoned nodes keep their slot with empty fields
+                String[] fields = doc == null ? new String[] { "", "", "" }
+                        : new String[] { doc.getId(), doc.getText(), MAPPER.writeValueAsString(doc.getMetadata()) };
+                for (String field : fields) {
+                    byte[] utf8 = field == null ? new byte[0] : field.getBytes(StandardCharsets.UTF_8);
+                    encoded.add(utf8);
+                    bytes += Integer.BYTES + utf8.length;
+                }
+            }
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Snapshot of " + name + " exceeds 2 GiB; use pgvector or weaviate");
+            }
+
+            Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+            Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+                index.writeTo(buffer);
+                for (byte[] utf8 : encoded) {
+                    buffer.putInt(utf8.length).put(utf8);
+                }
+                buffer.force();
+            }
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Snapshotted {} vector store ({} documents, {} bytes)", name, index.liveCount(), bytes);
+        } catch (IOException | RuntimeException e) {
+            dirty.set(true);
+            throw e;
+        } finally {
+            lock.readLock().unlock();
+            snapshotLock.unlock();
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] utf8 = new byte[buffer.getInt()];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        snapshotter.interrupt();
+        // A snapshot cut short by the interrupt marks the store dirty again, so the one below rewrites it
+        try {
+            snapshotter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshot();
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.phoenix.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import com.example.phoenix.config.constant.AiProvider;
+import com.example.phoenix.config.constant.ModelPriority;
+
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Per-{@link AiProvider} worker pool that every chat model call runs on.
+ * <p>
+ * Each provider has a fixed number of workers (virtual threads) pulling from
+ * a bounded queue ordered by {@link ModelPriority}, FIFO within a priority.
+ * The worker count is the memory/throughput knob: a local Ollama node loads
+ * one context per concurrent request, a hosted API does not care. It can be
+ * changed at runtime with {@link #resize}. A full queue rejects with
+ * {@link RejectedExecutionException}. Workers take an
+ * {@link AiConcurrencyLimiter} permit around the model invocation itself, so
+ * the worker count is the ceiling and the adaptive limit backs off below it.
+ * <p>
+ * On shutdown the pool stops accepting work, lets the workers finish the
+ * queued and in-flight calls for up to {@code phoenix.model.drain-timeout},
+ * then cancels the queued calls and interrupts the running ones. Like a full
+ * queue, all of these end in {@link RejectedExecutionException}: the work was
+ * shed, not failed, so {@link ClaimProcessor} defers the claim instead of
+ * marking it FAILED.
+ */
+@Service
+public class ModelWorkerPool {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelWorkerPool.class);
+
+    private final Map<AiProvider, Lane> lanes = new EnumMap<>(AiProvider.class);
+    private final Duration drainTimeout;
+    // Carries the caller's observation (trace) onto the worker thread
+    private final ContextSnapshotFactory contextSnapshots = ContextSnapshotFactory.builder().build();
+
+    public ModelWorkerPool(Environment environment, MeterRegistry meterRegistry,
+            @Value("${phoenix.model.drain-timeout:30s}") Duration drainTimeout) {
+        this.drainTimeout = drainTimeout;
+        int sharedWorkers = environment.getProperty("phoenix.model.workers", Integer.class, 8);
+        int sharedCapacity = environment.getProperty("phoenix.model.queue-capacity", Integer.class, 200);
+        for (AiProvider provider : AiProvider.values()) {
+            String prefix = "phoenix.model." + provider.name().toLowerCase() + ".";
+            int workers = environment.getProperty(prefix + "workers", Integer.class, sharedWorkers);
+            int capacity = environment.getProperty(prefix + "queue-capacity", Integer.class, sharedCapacity);
+            lanes.put(provider, new Lane(provider, capacity, meterRegistry));
+            resize(provider, workers);
+        }
+    }
+
+    /** Runs {@code work} on a worker of {@code providerName}'s lane and waits for its result. */
+    public <T> T call(String providerName, ModelPriority priority, Supplier<T> work) {
+        Lane lane = lanes.get(AiService.resolve(providerName));
+        FutureTask<T> task = lane.submit(priority, contextSnapshots.captureAll().wrap((Callable<T>) work::get));
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            // A hedged loser or a cancelled stage: drop the queued call, or interrupt it if it is running
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted waiting for " + providerName + " model call");
+        } catch (CancellationException e) {
+            // Only a shutdown past its drain timeout cancels a job behind its caller's back
+            throw new RejectedExecutionException(lane.provider + " model call dropped by shutdown", e);
+        } catch (ExecutionException e) {
+            if (lane.interrupted) {
+                throw new RejectedExecutionException(lane.provider + " model call interrupted by shutdown",
+                        e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /** Changes a provider's worker count; extra workers retire once their current call ends. */
+    public void resize(AiProvider provider, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("A provider needs at least one model worker, got " + workers);
+        }
+        lanes.get(provider).resize(workers);
+    }
+
+    public Map<AiProvider, Integer> workerCounts() {
+        Map<AiProvider, Integer> counts = new EnumMap<>(AiProvider.class);
+        lanes.forEach((provider, lane) -> counts.put(provider, lane.target()));
+        return counts;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.values().forEach(Lane::stopAccepting);
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        for (Lane lane : lanes.values()) {
+            if (!lane.awaitDrained(deadline)) {
+                log.warn("{} model calls still running after {}, interrupting them", lane.provider, drainTimeout);
+                lane.interruptAll();
+            }
+        }
+    }
+
+    private record Job(ModelPriority priority, long sequence, long enqueuedAt, FutureTask<?> task)
+            implements Comparable<Job> {
+
+        @Override
+        public int compareTo(Job other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static final class Lane {
+
+        private final AiProvider provider;
+        private final int capacity;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition jobAvailable = lock.newCondition();
+        private final Condition workerExited = lock.newCondition();
+        // Guarded by lock
+        private final PriorityQueue<Job> queue = new PriorityQueue<>();
+        private long sequence;
+        private int target;
+        private int workers;
+        private int busy;
+        private boolean accepting = true;
+        // Set once shutdown gave up waiting; calls failing after that were cut short, not broken
+        private volatile boolean interrupted;
+
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private final Map<ModelPriority, Timer> queueTimes = new EnumMap<>(ModelPriority.class);
+        private final Timer serviceTime;
+        private final Counter rejected;
+
+        Lane(AiProvider provider, int capacity, MeterRegistry meterRegistry) {
+            this.provider = provider;
+            this.capacity = capacity;
+            String tag = provider.name().toLowerCase();
+            for (ModelPriority priority : ModelPriority.values()) {
+                queueTimes.put(priority, Timer.builder("phoenix.model.queue.time")
+                        .description("Time model calls waited for a worker")
+                        .tag("provider", tag)
+                        .tag("priority", priority.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+            this.serviceTime = Timer.builder("phoenix.model.service.time")
+                    .description("Time a worker spent running a model call")
+                    .tag("provider", tag)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("phoenix.model.rejected")
+                    .description("Model calls rejected because the queue was full or shutting down")
+                    .tag("provider", tag)
+                    .register(meterRegistry);
+            Gauge.builder("phoenix.model.workers", this, Lane::target)
+                    .description("Configured model workers")
+                    .tag("provider", tag)
+                    .register(meterRegistry);
+            Gauge.builder("phoenix.model.busy", this, lane -> lane.busy)
+                    .description("Model workers currently running a call")
+                    .tag("provider", tag)
+                    .register(meterRegistry);
+            Gauge.builder("phoenix.model.queue.depth", this, lane -> lane.queue.size())
+                    .description("Model calls waiting for a worker")
+                    .tag("provider", tag)
+                    .register(meterRegistry);
+        }
+
+        <T> FutureTask<T> submit(ModelPriority priority, Callable<T> work) {
+            FutureTask<T> task = new FutureTask<>(work);
+            lock.lock();
+            try {
+                if (!accepting) {
+                    rejected.increment();
+                    throw new RejectedExecutionException(provider + " model pool is shutting down");
+                }
+                if (queue.size() >= capacity) {
+                    rejected.increment();
+                    throw new RejectedExecutionException(provider + " model queue is full (" + capacity + ")");
+                }
+                queue.add(new Job(priority, sequence++, System.nanoTime(), task));
+                jobAvailable.signal();
+            } finally {
+                lock.unlock();
+            }
+            return task;
+        }
+
+        int target() {
+            return target;
+        }
+
+        void resize(int workers) {
+            lock.lock();
+            try {
+                if (workers != target) {
+                    log.info("{} model workers {} -> {}", provider, target, workers);
+                }
+                target = workers;
+                while (this.workers < target) {
+                    this.workers++;
+                    Thread.ofVirtual().name("model-" + provider.name().toLowerCase() + "-", this.workers)
+                            .start(this::work);
+                }
+                // Idle surplus workers wake up and retire
+                jobAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void work() {
+            threads.add(Thread.currentThread());
+            try {
+                Job job;
+                while ((job = next()) != null) {
+                    queueTimes.get(job.priority())
+                            .record(System.nanoTime() - job.enqueuedAt(), TimeUnit.NANOSECONDS);
+                    if (!job.task().isCancelled()) {
+                        serviceTime.record(job.task());
+                    }
+                    // A cancelled call may have interrupted us; that must not end the worker
+                    Thread.interrupted();
+                    lock.lock();
+                    try {
+                        busy--;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            } finally {
+                threads.remove(Thread.currentThread());
+            }
+        }
+
+        /** The next job, or {@code null} when this worker should exit (surplus, or drained on shutdown). */
+        private Job next() {
+            lock.lock();
+            try {
+                while (true) {
+                    if (workers > target || queue.isEmpty() && !accepting) {
+                        workers--;
+                        workerExited.signalAll();
+                        return null;
+                    }
+                    Job job = queue.poll();
+                    if (job != null) {
+                        busy++;
+                        return job;
+                    }
+                    try {
+                        jobAvailable.await();
+                    } catch (InterruptedException e) {
+                        if (!accepting) {
+                            workers--;
+                            workerExited.signalAll();
+                            return null;
+                        }
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void stopAccepting() {
+            lock.lock();
+            try {
+                accepting = false;
+                jobAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean awaitDrained(long deadlineNanos) {
+            lock.lock();
+            try {
+                while (workers > 0) {
+                    long remaining = deadlineNanos - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    workerExited.awaitNanos(remaining);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void interruptAll() {
+            interrupted = true;
+            lock.lock();
+            try {
+                queue.forEach(job -> job.task().cancel(false));
+                queue.clear();
+            } finally {
+                lock.unlock();
+            }
+            threads.forEach(Thread::interrupt);
+        }
+    }
+}
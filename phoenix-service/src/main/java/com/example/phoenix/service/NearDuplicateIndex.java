@@ -0,0 +1,308 @@
+package com.example.phoenix.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.example.phoenix.config.constant.AiProvider;
+import com.example.phoenix.config.constant.EnrichmentStatus;
+import com.example.phoenix.model.FraudResult;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory MinHash / LSH index over sanitized claim descriptions, used to
+ * spot near-duplicate claims (same text with different names, dates or
+ * amounts) before paying for an agentic fraud analysis.
+ * <p>
+ * Descriptions are reduced to word 3-shingles with every token containing a
+ * digit folded to a single placeholder. Each signature of
+ * {@code bands * rows} MinHash values is split into bands; claims sharing any
+ * band bucket are candidates, and the candidate with the highest estimated
+ * Jaccard similarity above {@code phoenix.enrichment.near-duplicate.threshold}
+ * is returned. The index is rebuilt from enriched rows of the {@code claims}
+ * table in pages after startup, and extended as claims are enriched.
+ * <p>
+ * Claims are only matched against claims that requested the same provider, and
+ * each provider's index holds at most
+ * {@code phoenix.enrichment.near-duplicate.max-size} claims, evicting the
+ * oldest first. Only claims with their own, parsed analysis are added; a
+ * near-duplicate or a parse failure is never a match target, so reused
+ * analyses do not chain.
+ */
+@Service
+public class NearDuplicateIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NearDuplicateIndex.class);
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    public record Match(long claimId, double similarity) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GovernanceService governanceService;
+    private final boolean enabled;
+    private final double threshold;
+    private final int bands;
+    private final int rows;
+    private final int maxSize;
+    private final long[] seeds;
+
+    private final Map<AiProvider, Shard> shards = new EnumMap<>(AiProvider.class);
+    private final Counter matches;
+    private final Counter evictions;
+
+    public NearDuplicateIndex(JdbcTemplate jdbcTemplate, GovernanceService governanceService,
+            MeterRegistry meterRegistry,
+            @Value("${phoenix.enrichment.near-duplicate.enabled:true}") boolean enabled,
+            @Value("${phoenix.enrichment.near-duplicate.threshold:0.65}") double threshold,
+            @Value("${phoenix.enrichment.near-duplicate.bands:32}") int bands,
+            @Value("${phoenix.enrichment.near-duplicate.rows:4}") int rows,
+            @Value("${phoenix.enrichment.near-duplicate.max-size:100000}") int maxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.governanceService = governanceService;
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.bands = bands;
+        this.rows = rows;
+        this.maxSize = maxSize;
+        // Fixed seed: signatures must be comparable across restarts and instances
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        this.seeds = new long[bands * rows];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong() | 1L;
+        }
+        this.matches = Counter.builder("phoenix.enrichment.near.duplicates")
+                .description("Claims matched to an earlier near-duplicate")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("phoenix.enrichment.near.duplicate.evictions")
+                .description("Claims evicted from a full near-duplicate index")
+                .register(meterRegistry);
+        for (AiProvider provider : AiProvider.values()) {
+            Shard shard = new Shard();
+            shards.put(provider, shard);
+            Gauge.builder("phoenix.enrichment.near.duplicate.index.size", shard, Shard::size)
+                    .description("Claims in the near-duplicate index")
+                    .tag("provider", provider.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    /** The most similar earlier claim that requested {@code provider}, if any is above the threshold. */
+    public Optional<Match> findNearest(String provider, String sanitizedDescription) {
+        if (!enabled || sanitizedDescription == null || sanitizedDescription.isBlank()) {
+            return Optional.empty();
+        }
+        Match best = shards.get(AiService.resolve(provider)).findNearest(signature(sanitizedDescription));
+        if (best != null) {
+            matches.increment();
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /** Adds a claim with its own fraud analysis; near-duplicates must not be added. */
+    public void add(String provider, long claimId, String sanitizedDescription) {
+        if (!enabled || sanitizedDescription == null || sanitizedDescription.isBlank()) {
+            return;
+        }
+        shards.get(AiService.resolve(provider)).add(claimId, signature(sanitizedDescription));
+    }
+
+    /**
+     * Loads already-enriched claims page by page on a virtual thread, so startup
+     * is not held up by a large claims table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofVirtual().name("near-duplicate-rebuild").start(() -> {
+            long lastId = 0;
+            int loaded = 0;
+            try {
+                while (true) {
+                    // Same rows the pipeline adds: own analyses that parsed, keyed by the requested provider
+                    List<Object[]> page = jdbcTemplate.query("""
+                            SELECT id, description, ai_provider FROM claims
+                            WHERE id > ? AND enrichment_status = ? AND near_duplicate_of IS NULL
+                              AND (fraud_score, fraud_analysis, fraud_rationale) IS DISTINCT FROM (?, ?, ?)
+                            ORDER BY id LIMIT ?
+                            """, (rs, rowNum) -> new Object[] { rs.getLong("id"), rs.getString("description"),
+                                    rs.getString("ai_provider") },
+                            lastId, EnrichmentStatus.ENRICHED.name(), FraudResult.PARSE_FAILURE.score(),
+                            FraudResult.PARSE_FAILURE.analysis(), FraudResult.PARSE_FAILURE.rationale(),
+                            REBUILD_PAGE_SIZE);
+                    for (Object[] row : page) {
+                        lastId = (Long) row[0];
+                        add((String) row[2], lastId, governanceService.redactSensitiveData((String) row[1]));
+                    }
+                    loaded += page.size();
+                    if (page.size() < REBUILD_PAGE_SIZE) {
+                        break;
+                    }
+                }
+                log.info("Near-duplicate index rebuilt with {} claims", loaded);
+            } catch (Exception e) {
+                log.warn("Near-duplicate index rebuild stopped after {} claims: {}", loaded, e.getMessage());
+            }
+        });
+    }
+
+    int[] signature(String text) {
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles(text)) {
+            for (int i = 0; i < seeds.length; i++) {
+                int hash = (int) (mix(shingle * seeds[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /** Word 3-shingles (or the single run of words for shorter texts), hashed to 64 bits. */
+    private static List<Long> shingles(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase().split("[^\\p{L}\\p{N}\\[\\]_]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            // Amounts, dates and ids should not make two claims look different
+            tokens.add(token.chars().anyMatch(Character::isDigit) ? "#" : token);
+        }
+        List<Long> shingles = new ArrayList<>();
+        int width = Math.min(3, tokens.size());
+        for (int i = 0; i + width <= tokens.size() && width > 0; i++) {
+            long hash = 0xcbf29ce484222325L;
+            for (int j = i; j < i + width; j++) {
+                for (byte b : tokens.get(j).getBytes(StandardCharsets.UTF_8)) {
+                    hash = (hash ^ b) * 0x100000001b3L;
+                }
+                hash = (hash ^ ' ') * 0x100000001b3L;
+            }
+            shingles.add(hash);
+        }
+        return shingles;
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long hash = band;
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            hash = mix(hash * 31 + signature[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * One provider's LSH index. Claims are kept in insertion order so the
+     * oldest can be evicted once {@code maxSize} is reached.
+     */
+    private final class Shard {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // Guarded by lock
+        private final LinkedHashMap<Long, int[]> signatures = new LinkedHashMap<>();
+        private final Map<Long, Set<Long>> buckets = new HashMap<>();
+
+        Match findNearest(int[] signature) {
+            lock.readLock().lock();
+            try {
+                Set<Long> candidates = new HashSet<>();
+                for (int band = 0; band < bands; band++) {
+                    Set<Long> bucket = buckets.get(bandKey(signature, band));
+                    if (bucket != null) {
+                        candidates.addAll(bucket);
+                    }
+                }
+                Match best = null;
+                for (Long candidate : candidates) {
+                    double similarity = similarity(signature, signatures.get(candidate));
+                    if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                        best = new Match(candidate, similarity);
+                    }
+                }
+                return best;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(long claimId, int[] signature) {
+            lock.writeLock().lock();
+            try {
+                if (signatures.putIfAbsent(claimId, signature) != null) {
+                    return;
+                }
+                for (int band = 0; band < bands; band++) {
+                    buckets.computeIfAbsent(bandKey(signature, band), k -> new HashSet<>()).add(claimId);
+                }
+                Iterator<Map.Entry<Long, int[]>> oldest = signatures.entrySet().iterator();
+                while (signatures.size() > maxSize) {
+                    Map.Entry<Long, int[]> evicted = oldest.next();
+                    oldest.remove();
+                    for (int band = 0; band < bands; band++) {
+                        long key = bandKey(evicted.getValue(), band);
+                        Set<Long> bucket = buckets.get(key);
+                        if (bucket != null && bucket.remove(evicted.getKey()) && bucket.isEmpty()) {
+                            buckets.remove(key);
+                        }
+                    }
+                    evictions.increment();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return signatures.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.phoenix.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.pgvector.PgVectorFilterExpressionConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.phoenix.config.constant.VectorIndexType;
+import com.example.phoenix.config.constant.VectorQuantization;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * pgvector store that keeps the full-precision embedding in the heap table
+ * but builds the ANN index over a quantized expression of it
+ * ({@code embedding::halfvec(d)} or {@code binary_quantize(embedding)::bit(d)}),
+ * so the index is 2x (halfvec) or 32x (binary) smaller than a plain
+ * {@code vector} index.
+ * <p>
+ * Searches fetch {@code topK * rescoreFactor} candidates through the quantized
+ * index and re-rank them by exact cosine distance on the full vectors. A
+ * sampled fraction of searches is replayed as an exact scan to record recall
+ * per (provider, quantization, index) setting.
+ */
+public class QuantizedPgVectorStore implements VectorStore {
+
+    private static final Logger log = LoggerFactory.getLogger(QuantizedPgVectorStore.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+    private static final int MAX_EF_SEARCH = 1000;
+
+    public record IndexSettings(VectorQuantization quantization, VectorIndexType indexType, int hnswM,
+            int hnswEfConstruction, int hnswEfSearch, int ivfflatLists, int ivfflatProbes, int rescoreFactor,
+            double recallSampleRate) {
+    }
+
+    private final String name;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmbeddingModel embeddingModel;
+    private final String table;
+    private final int dimensions;
+    private final IndexSettings settings;
+    private final PgVectorFilterExpressionConverter filterConverter = new PgVectorFilterExpressionConverter();
+    private final RowMapper<Document> documentMapper = (rs, rowNum) -> Document.builder()
+            .id(rs.getString("id"))
+            .text(rs.getString("content"))
+            .metadata(readMetadata(rs.getString("metadata")))
+            .score(1 - rs.getDouble("distance"))
+            .build();
+    private final Timer searchLatency;
+    private final DistributionSummary recall;
+
+    public QuantizedPgVectorStore(String name, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            EmbeddingModel embeddingModel, int dimensions, IndexSettings settings, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.embeddingModel = embeddingModel;
+        this.table = "phoenix_vectors_" + name;
+        this.dimensions = dimensions;
+        this.settings = settings;
+        String quantization = settings.quantization().name().toLowerCase();
+        String index = settings.indexType().name().toLowerCase();
+        this.searchLatency = Timer.builder("phoenix.vector.store.search")
+                .description("Quantized pgvector search latency including rescoring")
+                .tags("provider", name, "quantization", quantization, "index", index)
+                .register(meterRegistry);
+        this.recall = DistributionSummary.builder("phoenix.vector.store.recall")
+                .description("Sampled recall@k of the quantized search against an exact scan")
+                .tags("provider", name, "quantization", quantization, "index", index)
+                .register(meterRegistry);
+        initializeSchema();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    private String quantizedExpression() {
+        return switch (settings.quantization()) {
+            case HALFVEC -> "(embedding::halfvec(%d))".formatted(dimensions);
+            case BINARY -> "(binary_quantize(embedding)::bit(%d))".formatted(dimensions);
+        };
+    }
+
+    private String quantizedQuery() {
+        return switch (settings.quantization()) {
+            case HALFVEC -> "?::halfvec(%d)".formatted(dimensions);
+            case BINARY -> "binary_quantize(?::vector)::bit(%d)".formatted(dimensions);
+        };
+    }
+
+    private String quantizedOperator() {
+        return settings.quantization() == VectorQuantization.BINARY ? "<~>" : "<=>";
+    }
+
+    private void initializeSchema() {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS vector");
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS %s (
+                    id TEXT PRIMARY KEY,
+                    content TEXT,
+                    metadata JSONB,
+                    embedding vector(%d) NOT NULL
+                )""".formatted(table, dimensions));
+
+        String opclass = settings.quantization() == VectorQuantization.BINARY
+                ? "bit_hamming_ops"
+                : "halfvec_cosine_ops";
+        // The index name encodes the settings, so changing them builds a new index instead of reusing a stale one
+        String indexName = "%s_%s_%s_idx".formatted(table, settings.quantization(), settings.indexType())
+                .toLowerCase();
+        String with = switch (settings.indexType()) {
+            case HNSW -> "m = %d, ef_construction = %d".formatted(settings.hnswM(), settings.hnswEfConstruction());
+            case IVFFLAT -> "lists = %d".formatted(settings.ivfflatLists());
+        };
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS %s ON %s USING %s (%s %s) WITH (%s)".formatted(
+                indexName, table, settings.indexType().name().toLowerCase(), quantizedExpression(), opclass, with));
+        log.info("Quantized pgvector store {} ready ({}, {} index)", table, settings.quantization(),
+                settings.indexType());
+    }
+
+    @Override
+    public void add(List<Document> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        List<float[]> embeddings = embeddingModel.embed(documents.stream()
+                .map(doc -> Objects.requireNonNullElse(doc.getText(), ""))
+                .toList());
+        List<Object[]> rows = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            Document doc = documents.get(i);
+            rows.add(new Object[] { doc.getId(), doc.getText(), writeMetadata(doc.getMetadata()),
+                    toVectorLiteral(embeddings.get(i)) });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO %s (id, content, metadata, embedding) VALUES (?, ?, ?::jsonb, ?::vector)
+                ON CONFLICT (id) DO UPDATE SET content = EXCLUDED.content, metadata = EXCLUDED.metadata,
+                    embedding = EXCLUDED.embedding""".formatted(table), rows);
+    }
+
+    @Override
+    public void delete(List<String> idList) {
+        jdbcTemplate.batchUpdate("DELETE FROM %s WHERE id = ?".formatted(table),
+                idList.stream().map(id -> new Object[] { id }).toList());
+    }
+
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+        jdbcTemplate.update("DELETE FROM %s WHERE %s".formatted(table, jsonPathFilter(filterExpression)));
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+        String vector = toVectorLiteral(embeddingModel.embed(request.getQuery()));
+        int topK = request.getTopK();
+        String where = request.getFilterExpression() == null
+                ? ""
+                : "WHERE " + jsonPathFilter(request.getFilterExpression());
+        // Inner query walks the quantized index; the outer one rescores by exact cosine distance
+        String sql = """
+                SELECT id, content, metadata, distance FROM (
+                    SELECT id, content, metadata, embedding <=> ?::vector AS distance
+                    FROM %s %s
+                    ORDER BY %s %s %s
+                    LIMIT ?
+                ) candidates
+                WHERE distance <= ?
+                ORDER BY distance
+                LIMIT ?""".formatted(table, where, quantizedExpression(), quantizedOperator(), quantizedQuery());
+        double maxDistance = 1 - request.getSimilarityThreshold();
+
+        Timer.Sample sample = Timer.start();
+        List<Document> results = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(switch (settings.indexType()) {
+                // ef_search bounds how many candidates HNSW can return, so it must cover the rescore window
+                case HNSW -> "SET LOCAL hnsw.ef_search = " + Math.min(MAX_EF_SEARCH,
+                        Math.max(settings.hnswEfSearch(), topK * settings.rescoreFactor()));
+                case IVFFLAT -> "SET LOCAL ivfflat.probes = " + settings.ivfflatProbes();
+            });
+            return jdbcTemplate.query(sql, documentMapper, vector, vector, topK * settings.rescoreFactor(),
+                    maxDistance, topK);
+        });
+        sample.stop(searchLatency);
+
+        if (settings.recallSampleRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.recallSampleRate()) {
+            Thread.ofVirtual().start(() -> sampleRecall(vector, where, topK, results));
+        }
+        return results;
+    }
+
+    /** Exact top-k by a sequential scan on the full-precision vectors; the recall baseline. */
+    private List<Document> exactSearch(String vector, String where, int topK) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_indexscan = off");
+            return jdbcTemplate.query("""
+                    SELECT id, content, metadata, embedding <=> ?::vector AS distance
+                    FROM %s %s
+                    ORDER BY distance
+                    LIMIT ?""".formatted(table, where), documentMapper, vector, topK);
+        });
+    }
+
+    private void sampleRecall(String vector, String where, int topK, List<Document> approximate) {
+        try {
+            List<Document> exact = exactSearch(vector, where, topK);
+            if (exact.isEmpty()) {
+                return;
+            }
+            Set<String> expected = new HashSet<>();
+            exact.forEach(doc -> expected.add(doc.getId()));
+            long found = approximate.stream().filter(doc -> expected.contains(doc.getId())).count();
+            recall.record((double) found / expected.size());
+        } catch (Exception e) {
+            log.debug("Recall sampling for {} failed: {}", table, e.getMessage());
+        }
+    }
+
+    private String jsonPathFilter(Filter.Expression expression) {
+        return "metadata::jsonb @@ '" + filterConverter.convertExpression(expression) + "'::jsonpath";
+    }
+
+    private static String toVectorLiteral(float[] embedding) {
+        StringBuilder sb = new StringBuilder(embedding.length * 10).append('[');
+        for (int i = 0; i < embedding.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(embedding[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String writeMetadata(Map<String, Object> metadata) {
+        try {
+            return MAPPER.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unserializable document metadata", e);
+        }
+    }
+
+    private static Map<String, Object> readMetadata(String json) {
+        try {
+            return json == null ? Map.of() : MAPPER.readValue(json, METADATA_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt document metadata", e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.phoenix.service;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies a list of {@link RedactionRule}s in one pass over the input.
+ * <p>
+ * All rules are compiled into a single alternation, one named group per rule,
+ * so the text is scanned once regardless of the number of rules. Where rules
+ * overlap at a position, the earlier rule in the list wins. Output is written
+ * into one pre-sized builder, and a string without matches is returned as is.
+ * <p>
+ * A rule's capturing groups are renumbered once it sits in the alternation, so
+ * rules with numbered backreferences ({@code \1}) are rejected; use a named
+ * group and {@code \k<name>} instead.
+ */
+class RedactionEngine {
+
+    private final Pattern pattern;
+    private final String[] groups;
+    private final String[] replacements;
+
+    RedactionEngine(List<RedactionRule> rules) {
+        this.groups = new String[rules.size()];
+        this.replacements = new String[rules.size()];
+        StringBuilder alternation = new StringBuilder();
+        for (int i = 0; i < rules.size(); i++) {
+            RedactionRule rule = rules.get(i);
+            // Validate each rule on its own so a bad pattern is reported by name
+            Pattern.compile(rule.regex());
+            rejectNumberedBackreferences(rule);
+            groups[i] = "r" + i;
+            replacements[i] = rule.replacement();
+            if (i > 0) {
+                alternation.append('|');
+            }
+            alternation.append("(?<").append(groups[i]).append('>').append(rule.regex()).append(')');
+        }
+        this.pattern = Pattern.compile(alternation.toString());
+    }
+
+    private static void rejectNumberedBackreferences(RedactionRule rule) {
+        String regex = rule.regex();
+        boolean quoted = false;
+        for (int i = 0; i < regex.length() - 1; i++) {
+            if (regex.charAt(i) != '\\') {
+                continue;
+            }
+            char next = regex.charAt(i + 1);
+            if (quoted) {
+                // Inside \Q...\E only \E is an escape
+                if (next == 'E') {
+                    quoted = false;
+                    i++;
+                }
+                continue;
+            }
+            if (next == 'Q') {
+                quoted = true;
+            } else if (next >= '1' && next <= '9') {
+                throw new IllegalArgumentException("Redaction rule '" + rule.name()
+                        + "' uses numbered backreference \\" + next + "; use a named group and \\k<name>");
+            }
+            i++;
+        }
+    }
+
+    String redact(String input) {
+        Matcher matcher = pattern.matcher(input);
+        if (!matcher.find()) {
+            return input;
+        }
+        StringBuilder out = new StringBuilder(input.length() + 32);
+        int last = 0;
+        do {
+            out.append(input, last, matcher.start()).append(replacementFor(matcher));
+            last = matcher.end();
+        } while (matcher.find());
+        return out.append(input, last, input.length()).toString();
+    }
+
+    private String replacementFor(Matcher matcher) {
+        for (int i = 0; i < groups.length; i++) {
+            if (matcher.start(groups[i]) >= 0) {
+                return replacements[i];
+            }
+        }
+        throw new IllegalStateException("Match without a rule group");
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.phoenix.service;
+
+/**
+ * A PII pattern and the token that replaces it. Declare additional rules as
+ * beans to have {@link GovernanceService} pick them up; they run after the
+ * built-in rules, in bean {@code @Order}.
+ */
+public record RedactionRule(String name, String regex, String replacement) {
+}
@@ -0,0 +1,92 @@
+package com.example.phoenix.service;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Fork/join scope for concurrent enrichment stages, in the spirit of
+ * {@code StructuredTaskScope} (still a preview API on Java 21).
+ * <p>
+ * Each forked stage runs on its own virtual thread inside a
+ * {@code claim.enrichment.stage} child observation of the pipeline, so
+ * overlapping stages show up as sibling spans in the trace. The first failing
+ * stage cancels the others. Closing the scope interrupts and waits for
+ * anything still running, so no stage outlives the pipeline run.
+ */
+final class StageScope implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CompletionService<Object> completions = new ExecutorCompletionService<>(executor);
+    // Future -> stage name, in fork order
+    private final Map<Future<?>, String> stages = new IdentityHashMap<>();
+    private final ObservationRegistry observationRegistry;
+    private final Observation parent;
+    private final ContextSnapshotFactory contextSnapshots = ContextSnapshotFactory.builder().build();
+    private int pending;
+    private String lastCompleted;
+
+    StageScope(ObservationRegistry observationRegistry, Observation parent) {
+        this.observationRegistry = observationRegistry;
+        this.parent = parent;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Future<T> fork(String stage, Callable<T> work) {
+        Observation observation = Observation.createNotStarted("claim.enrichment.stage", observationRegistry)
+                .parentObservation(parent)
+                .lowCardinalityKeyValue("stage", stage);
+        Callable<Object> task = () -> observation.observeChecked(work::call);
+        Future<Object> future = completions.submit(contextSnapshots.captureAll().wrap(task));
+        stages.put(future, stage);
+        pending++;
+        return (Future<T>) (Future<?>) future;
+    }
+
+    boolean hasPending() {
+        return pending > 0;
+    }
+
+    /**
+     * Waits for the next stage to finish and returns its (completed) future.
+     * If it failed, every other stage is cancelled and its exception rethrown.
+     */
+    Future<?> next() throws Exception {
+        Future<Object> done = completions.take();
+        pending--;
+        lastCompleted = stages.get(done);
+        try {
+            done.get();
+        } catch (ExecutionException e) {
+            cancelAll();
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+        return done;
+    }
+
+    /** The stage that finished last so far; after a full join, the pipeline's critical path. */
+    String lastCompleted() {
+        return lastCompleted;
+    }
+
+    private void cancelAll() {
+        stages.keySet().forEach(future -> future.cancel(true));
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+        // Virtual threads blocked on socket I/O are interruptible, so this wait is short
+        executor.close();
+    }
+}
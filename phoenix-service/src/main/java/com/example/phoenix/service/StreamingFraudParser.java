@@ -0,0 +1,109 @@
+package com.example.phoenix.service;
+
+/**
+ * Accumulates a streamed fraud answer and spots its SCORE as soon as the
+ * number is complete, without re-scanning the whole text on every chunk.
+ * <p>
+ * Only a strict header counts, as in the first pass of
+ * {@link FraudResultParser#parseSections}: SCORE, a {@code :} or {@code -}
+ * separator, then one to three digits. A bare "score 85" in the model's
+ * reasoning is never taken, because the score-only policy may cancel the
+ * stream on it; the separator-less fallback is left to the final parse. A
+ * number touching the end of the buffer may still grow, so it is only
+ * accepted once a non-digit follows. The final result is still parsed from
+ * {@link #text()} by {@link FraudResultParser}; this class only answers "is
+ * the score known yet?". Not thread-safe; one instance per stream.
+ */
+final class StreamingFraudParser {
+
+    private static final String SCORE = "SCORE";
+    // Enough to re-read a "**SCORE** :" header split across two chunks
+    private static final int OVERLAP = 16;
+
+    private final StringBuilder text = new StringBuilder(2048);
+    // Everything before this offset has been ruled out as the start of the SCORE header
+    private int scanned;
+    private int score = -1;
+    private boolean scoreDecided;
+
+    void append(String chunk) {
+        if (chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        text.append(chunk);
+        if (!scoreDecided) {
+            scanForScore();
+        }
+    }
+
+    boolean isEmpty() {
+        return text.isEmpty();
+    }
+
+    /** The score, or -1 while it has not been generated (or was out of range). */
+    int score() {
+        return score;
+    }
+
+    String text() {
+        return text.toString();
+    }
+
+    private void scanForScore() {
+        int length = text.length();
+        for (int i = scanned; i < length; i++) {
+            if (!isScoreHeader(i)) {
+                continue;
+            }
+            int cursor = skip(i + SCORE.length(), " \t*");
+            if (cursor == length) {
+                // The separator may arrive in the next chunk
+                scanned = i;
+                return;
+            }
+            if (text.charAt(cursor) != ':' && text.charAt(cursor) != '-') {
+                continue;
+            }
+            cursor = skip(cursor + 1, " \t\r\n*");
+            int digitsEnd = cursor;
+            while (digitsEnd < length && digitsEnd - cursor < 4 && Character.isDigit(text.charAt(digitsEnd))) {
+                digitsEnd++;
+            }
+            if (digitsEnd == length) {
+                // The number may continue in the next chunk
+                scanned = i;
+                return;
+            }
+            int digits = digitsEnd - cursor;
+            if (digits == 0 || digits > 3) {
+                continue;
+            }
+            int value = Integer.parseInt(text, cursor, digitsEnd, 10);
+            score = value <= 100 ? value : -1;
+            scoreDecided = true;
+            return;
+        }
+        scanned = Math.max(scanned, length - OVERLAP);
+    }
+
+    /** SCORE as a whole word; a header cut off by the end of the buffer is not matched yet. */
+    private boolean isScoreHeader(int i) {
+        int end = i + SCORE.length();
+        if (end > text.length() || i > 0 && Character.isLetterOrDigit(text.charAt(i - 1))) {
+            return false;
+        }
+        for (int k = 0; k < SCORE.length(); k++) {
+            if (Character.toUpperCase(text.charAt(i + k)) != SCORE.charAt(k)) {
+                return false;
+            }
+        }
+        return end == text.length() || !Character.isLetterOrDigit(text.charAt(end));
+    }
+
+    private int skip(int from, String chars) {
+        while (from < text.length() && chars.indexOf(text.charAt(from)) >= 0) {
+            from++;
+        }
+        return from;
+    }
+}
@@ -70,12 +70,15 @@ public class VectorStoreManager {
     }
 
     public VectorStore getStore(String providerName) {
+        return lookupStore(resolveProvider(providerName));
+    }
+
+    public AiProvider resolveProvider(String providerName) {
         try {
-            AiProvider provider = AiProvider.valueOf(providerName.toUpperCase());
-            return lookupStore(provider);
+            return AiProvider.valueOf(providerName.toUpperCase());
         } catch (Exception e) {
             log.warn("Invalid provider: {}. Using fallback/current default.", providerName);
-            return currentActiveStore.get().store();
+            return currentActiveStore.get().provider();
         }
     }
 
@@ -0,0 +1,190 @@
+package com.example.phoenix.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.phoenix.config.constant.AiProvider;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind queue for vector store documents, one per {@link AiProvider}.
+ * <p>
+ * A virtual-thread flusher per provider collects documents until
+ * {@code phoenix.vector-sync.batch-size} is reached or
+ * {@code phoenix.vector-sync.flush-interval} has passed since the first one,
+ * then writes them with a single {@code VectorStore.add}. That call embeds the
+ * whole batch in one request and uses the store's batch write (Weaviate's
+ * objects batcher, a JDBC batch insert for PgVector). Failed flushes are
+ * retried with exponential backoff before the batch is dropped.
+ */
+@Service
+public class VectorSyncQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(VectorSyncQueue.class);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(10);
+
+    private final VectorStoreManager vectorStoreManager;
+    private final boolean async;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Map<AiProvider, BlockingQueue<Document>> queues = new EnumMap<>(AiProvider.class);
+    private final Map<AiProvider, Thread> flushers = new EnumMap<>(AiProvider.class);
+    private final Timer flushLatency;
+    private final DistributionSummary flushSize;
+    private final Counter droppedDocuments;
+    private volatile boolean running = true;
+
+    public VectorSyncQueue(VectorStoreManager vectorStoreManager, MeterRegistry meterRegistry,
+            @Value("${phoenix.vector-sync.async:true}") boolean async,
+            @Value("${phoenix.vector-sync.batch-size:64}") int batchSize,
+            @Value("${phoenix.vector-sync.flush-interval:2s}") Duration flushInterval,
+            @Value("${phoenix.vector-sync.queue-capacity:10000}") int queueCapacity,
+            @Value("${phoenix.vector-sync.max-attempts:5}") int maxAttempts,
+            @Value("${phoenix.vector-sync.initial-backoff:500ms}") Duration initialBackoff) {
+        this.vectorStoreManager = vectorStoreManager;
+        this.async = async;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.flushLatency = Timer.builder("phoenix.vector.sync.flush")
+                .description("Time to write one batch to the vector store, including retries")
+                .register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("phoenix.vector.sync.flush.size")
+                .description("Documents per vector store flush")
+                .register(meterRegistry);
+        this.droppedDocuments = Counter.builder("phoenix.vector.sync.dropped")
+                .description("Documents dropped after all flush attempts failed or after shutdown")
+                .register(meterRegistry);
+
+        if (!async) {
+            return;
+        }
+        for (AiProvider provider : AiProvider.values()) {
+            BlockingQueue<Document> queue = new LinkedBlockingQueue<>(queueCapacity);
+            queues.put(provider, queue);
+            Gauge.builder("phoenix.vector.sync.queue.depth", queue, BlockingQueue::size)
+                    .description("Documents waiting to be written to the vector store")
+                    .tag("provider", provider.name().toLowerCase())
+                    .register(meterRegistry);
+            flushers.put(provider, Thread.ofVirtual()
+                    .name("vector-sync-" + provider.name().toLowerCase())
+                    .start(() -> runFlusher(provider, queue)));
+        }
+    }
+
+    /**
+     * Queues the document for the provider's store, or writes it right away
+     * when {@code phoenix.vector-sync.async=false}. Waits while the queue is
+     * full; once the queue is shut down, or the provider's flusher has stopped,
+     * the document is dropped instead, since nothing would ever write it.
+     */
+    public void enqueue(String providerName, Document document) throws InterruptedException {
+        AiProvider provider = vectorStoreManager.resolveProvider(providerName);
+        if (!async) {
+            flush(provider, List.of(document));
+            return;
+        }
+        BlockingQueue<Document> queue = queues.get(provider);
+        Thread flusher = flushers.get(provider);
+        while (running && flusher.isAlive()) {
+            if (queue.offer(document, flushInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+        droppedDocuments.increment();
+        log.warn("Vector sync for {} is stopped, dropped document {}", provider, document.getId());
+    }
+
+    private void runFlusher(AiProvider provider, BlockingQueue<Document> queue) {
+        // Per flusher: an interrupt stops this provider's flusher only, the others keep running
+        boolean stopping = false;
+        while (running && !stopping || !queue.isEmpty()) {
+            try {
+                Document first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Document> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Document next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                flush(provider, batch);
+            } catch (InterruptedException e) {
+                // Keep draining what is left without waiting, then exit
+                log.warn("Vector sync flusher for {} interrupted, draining {} documents", provider, queue.size());
+                stopping = true;
+            }
+        }
+    }
+
+    private void flush(AiProvider provider, List<Document> batch) {
+        long start = System.nanoTime();
+        Duration backoff = initialBackoff;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                vectorStoreManager.lookupStore(provider).add(batch);
+                flushSize.record(batch.size());
+                flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.debug("Flushed {} documents to {} vector store", batch.size(), provider);
+                return;
+            } catch (Exception e) {
+                log.warn("Vector Store Sync attempt {}/{} for {} documents failed: {}", attempt, maxAttempts,
+                        batch.size(), e.getMessage());
+                if (attempt < maxAttempts && !sleep(backoff)) {
+                    break;
+                }
+                backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+            }
+        }
+        droppedDocuments.increment(batch.size());
+        flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.error("Vector Store Sync Error: dropped {} documents for {}", batch.size(), provider);
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread flusher : flushers.values()) {
+            flusher.join(flushInterval.plusSeconds(30).toMillis());
+        }
+    }
+}
@@ -1,54 +1,125 @@
 package com.example.phoenix.tool;
 
+import com.example.phoenix.config.constant.AiProvider;
 import com.example.phoenix.service.VectorStoreManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
  * AI Tool definitions for Agentic RAG.
  * These functions are exposed to the AI Model as tools it can call
  * autonomously.
+ * <p>
+ * Search results are cached per (provider, normalized query, topK) for
+ * {@code phoenix.tool.search-cache.ttl}. Entries are not invalidated when new
+ * documents are flushed (under steady ingestion that happens every few
+ * seconds and would empty the cache), so a newly synced claim becomes visible
+ * to cached queries within the TTL.
  */
 @Component
 public class RiskAnalysisTools {
 
     private static final Logger log = LoggerFactory.getLogger(RiskAnalysisTools.class);
+    private static final int TOP_K = 3;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private record SearchKey(AiProvider provider, String query, int topK) {
+    }
+
     private final VectorStoreManager vectorStoreManager;
+    private final Cache<SearchKey, String> searchCache;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Timer hitLatency;
+    private final Timer missLatency;
 
-    public RiskAnalysisTools(VectorStoreManager vectorStoreManager) {
+    public RiskAnalysisTools(VectorStoreManager vectorStoreManager, MeterRegistry meterRegistry,
+            @Value("${phoenix.tool.search-cache.max-size:1000}") long maxSize,
+            @Value("${phoenix.tool.search-cache.ttl:60s}") Duration ttl) {
         this.vectorStoreManager = vectorStoreManager;
+        this.searchCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.cacheHits = searchLookups(meterRegistry, "hit");
+        this.cacheMisses = searchLookups(meterRegistry, "miss");
+        this.hitLatency = searchLatency(meterRegistry, "hit");
+        this.missLatency = searchLatency(meterRegistry, "miss");
+    }
+
+    private static Counter searchLookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("phoenix.tool.historical.search.cache")
+                .description("historicalClaimSearch result cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer searchLatency(MeterRegistry meterRegistry, String cache) {
+        return Timer.builder("phoenix.tool.historical.search")
+                .description("historicalClaimSearch latency")
+                .tag("cache", cache)
+                .register(meterRegistry);
     }
 
     @Tool(description = "Search the historical insurance claims database for similar cases to provide context for fraud detection.")
     public String historicalClaimSearch(String query, String provider) {
         log.info("Agent Tool triggered: Searching for similar claims with query: '{}' using provider: '{}'",
                 query, provider);
+        long start = System.nanoTime();
+
+        AiProvider resolved = vectorStoreManager.resolveProvider(provider);
+        SearchKey key = new SearchKey(resolved, normalize(query), TOP_K);
+        String cached = searchCache.getIfPresent(key);
+        if (cached != null) {
+            cacheHits.increment();
+            hitLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
+        cacheMisses.increment();
 
         try {
-            List<Document> docs = vectorStoreManager.getStore(provider)
+            List<Document> docs = vectorStoreManager.lookupStore(resolved)
                     .similaritySearch(SearchRequest.builder()
                             .query(query)
-                            .topK(3)
+                            .topK(TOP_K)
                             .build());
 
-            if (docs.isEmpty()) {
-                return "No similar historical claims found.";
-            }
-
-            return docs.stream()
-                    .map(Document::getText)
-                    .collect(Collectors.joining("\n---\n"));
+            String result = docs.isEmpty()
+                    ? "No similar historical claims found."
+                    : docs.stream()
+                            .map(Document::getText)
+                            .collect(Collectors.joining("\n---\n"));
+            searchCache.put(key, result);
+            return result;
 
         } catch (Exception e) {
             log.error("Tool execution failed: {}", e.getMessage());
             return "Error retrieving historical context: " + e.getMessage();
+        } finally {
+            missLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
+
+    private static String normalize(String query) {
+        return query == null ? "" : WHITESPACE.matcher(query.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,6 @@
+-- Tracks the enrichment state machine separately from the business status of a claim:
+-- PENDING -> ENRICHING -> ENRICHED | FAILED
+ALTER TABLE claims ADD COLUMN IF NOT EXISTS enrichment_status VARCHAR(20) DEFAULT 'PENDING';
+
+UPDATE claims SET enrichment_status = 'ENRICHED'
+WHERE summary IS NOT NULL AND summary <> '';
@@ -0,0 +1,13 @@
+-- Persistent tier of the enrichment result cache, keyed by a hash of
+-- (provider, temperature, sanitized description)
+CREATE TABLE IF NOT EXISTS enrichment_cache (
+    content_hash CHAR(64) PRIMARY KEY,
+    ai_provider VARCHAR(50),
+    ai_temperature DOUBLE PRECISION,
+    summary TEXT,
+    fraud_score INTEGER,
+    fraud_analysis TEXT,
+    fraud_rationale TEXT,
+    fraud_thought TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
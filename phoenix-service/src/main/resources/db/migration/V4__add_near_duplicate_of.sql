@@ -0,0 +1,2 @@
+-- Set when the fraud analysis was adapted from an earlier near-duplicate claim
+ALTER TABLE claims ADD COLUMN IF NOT EXISTS near_duplicate_of BIGINT;
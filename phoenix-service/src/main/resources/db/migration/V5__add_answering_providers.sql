@@ -0,0 +1,3 @@
+-- Provider that actually produced each result; differs from ai_provider when a hedged or failed-over call won
+ALTER TABLE claims ADD COLUMN IF NOT EXISTS summary_provider VARCHAR(20);
+ALTER TABLE claims ADD COLUMN IF NOT EXISTS fraud_provider VARCHAR(20);
@@ -0,0 +1,8 @@
+-- Bounded enrichment retries: attempts counts how often the row was claimed (a deferral under load gives
+-- its attempt back), enrichment_updated_at is when it was last claimed, failed or deferred. An ENRICHING row
+-- older than the lease lost its worker; a FAILED one is retried after a backoff while attempts remain.
+ALTER TABLE claims ADD COLUMN IF NOT EXISTS enrichment_attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE claims ADD COLUMN IF NOT EXISTS enrichment_updated_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_claims_enrichment_pending ON claims (enrichment_status)
+    WHERE enrichment_status <> 'ENRICHED';
@@ -0,0 +1,2 @@
+-- Lets the periodic purge of expired enrichment cache rows use a range scan
+CREATE INDEX IF NOT EXISTS idx_enrichment_cache_created_at ON enrichment_cache (created_at);
@@ -0,0 +1,93 @@
+package com.example.phoenix.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.phoenix.model.FraudResult;
+
+class FraudResultParserTest {
+
+    @Test
+    void parsesStrictFormat() {
+        FraudResult result = FraudResultParser.parse("""
+                THOUGHT: Searched prior claims for the address.
+                SCORE: 72
+                ANALYSIS: Pattern matches prior staged losses.
+                RATIONALE: Third claim this year, each filed days after renewal.
+                """);
+
+        assertThat(result).isEqualTo(new FraudResult(72, "Pattern matches prior staged losses.",
+                "Third claim this year, each filed days after renewal.", "Searched prior claims for the address."));
+    }
+
+    @Test
+    void parsesMarkdownHeadersOutOfOrderWithDashSeparator() {
+        FraudResult result = FraudResultParser.parse("""
+                Here is my assessment.
+
+                **THOUGHT:** The witness statement contradicts the time of loss.
+
+                **ANALYSIS:** Inconsistent timeline.
+
+                **SCORE** - 64
+
+                **RATIONALE:**
+                The police report and the form disagree by three hours.
+                """);
+
+        assertThat(result).isNotNull();
+        assertThat(result.score()).isEqualTo(64);
+        assertThat(result.thought()).isEqualTo("The witness statement contradicts the time of loss.");
+        assertThat(result.analysis()).isEqualTo("Inconsistent timeline.");
+        assertThat(result.rationale()).isEqualTo("The police report and the form disagree by three hours.");
+    }
+
+    @Test
+    void parsesJsonInsideCodeFence() {
+        FraudResult result = FraudResultParser.parse("""
+                ```json
+                {"score": 15, "analysis": "Consistent with a genuine loss.", "rationale": "Receipts match."}
+                ```""");
+
+        assertThat(result).isEqualTo(new FraudResult(15, "Consistent with a genuine loss.", "Receipts match.",
+                "Agent skipped explicit reasoning."));
+    }
+
+    @Test
+    void ignoresScoreMentionedInProseWhenAHeaderFollows() {
+        FraudResult result = FraudResultParser.parse("""
+                THOUGHT: A fraud score 85 is unlikely here, the damage matches the storm report.
+                SCORE: 20
+                ANALYSIS: Consistent with a genuine loss.
+                """);
+
+        assertThat(result).isNotNull();
+        assertThat(result.score()).isEqualTo(20);
+        assertThat(result.thought())
+                .isEqualTo("A fraud score 85 is unlikely here, the damage matches the storm report.");
+    }
+
+    @Test
+    void fallsBackToScoreWithoutSeparator() {
+        FraudResult result = FraudResultParser.parse("""
+                THOUGHT: Nothing unusual.
+                SCORE 12
+                ANALYSIS: Consistent with a genuine loss.
+                """);
+
+        assertThat(result).isNotNull();
+        assertThat(result.score()).isEqualTo(12);
+        assertThat(result.analysis()).isEqualTo("Consistent with a genuine loss.");
+    }
+
+    @Test
+    void returnsNullWithoutScore() {
+        assertThat(FraudResultParser.parse("""
+                THOUGHT: I could not find any prior claims.
+                ANALYSIS: Insufficient information.
+                """)).isNull();
+        assertThat(FraudResultParser.parse("SCORE: 250")).isNull();
+        assertThat(FraudResultParser.parse("   ")).isNull();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.phoenix.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class StreamingFraudParserTest {
+
+    @Test
+    void detectsScoreSplitAcrossChunks() {
+        StreamingFraudParser parser = stream("THOUGHT: Nothing unusual.\n**SCO", "RE**", " :", " 4", "2", "\nANALYSIS:");
+
+        assertThat(parser.score()).isEqualTo(42);
+    }
+
+    @Test
+    void waitsUntilTheNumberIsComplete() {
+        StreamingFraudParser parser = stream("SCORE: 1");
+        assertThat(parser.score()).isEqualTo(-1);
+
+        parser.append("5\n");
+        assertThat(parser.score()).isEqualTo(15);
+    }
+
+    @Test
+    void ignoresScoreWithoutSeparatorInReasoning() {
+        StreamingFraudParser parser = stream("THOUGHT: A fraud score 85 is unlikely here.\n", "SCORE: 20\n");
+
+        assertThat(parser.score()).isEqualTo(20);
+    }
+
+    @Test
+    void neverDecidesOnABareScore() {
+        StreamingFraudParser parser = stream("THOUGHT: Nothing unusual.\nSCORE 12\nANALYSIS: Genuine loss.\n");
+
+        assertThat(parser.score()).isEqualTo(-1);
+    }
+
+    private static StreamingFraudParser stream(String... chunks) {
+        StreamingFraudParser parser = new StreamingFraudParser();
+        for (String chunk : chunks) {
+            parser.append(chunk);
+        }
+        return parser;
+    }
+}
@@ -1,7 +1,21 @@
-import React from 'react';
+import React, { useEffect, useState } from 'react';
 import { ShieldCheck, Lock, Link2, AlertTriangle, Sparkles, Brain, Info, ShieldAlert } from 'lucide-react';
+import { claimsApi } from '../../services/api';
 
 const ClaimCard = ({ claim, idx, onTraceClick, isLocal }) => {
+    // The claims list omits the agent's thought/rationale; load them once the claim is scored
+    const [detail, setDetail] = useState(null);
+    const isScored = claim.fraudScore >= 0;
+    // A streamed score arrives while the claim is still ENRICHING, before rationale and thought exist
+    const isFinal = claim.enrichmentStatus !== 'ENRICHING';
+
+    useEffect(() => {
+        if (!isScored || !isFinal) return;
+        claimsApi.getClaim(claim.id)
+            .then(res => setDetail(res.data))
+            .catch(() => {});
+    }, [claim.id, isScored, isFinal]);
+
     return (
         <div className="p-4 md:p-5 bg-white border border-slate-100 rounded-2xl border-l-4 border-l-indigo-500 shadow-sm relative group/claim">
             <div className="flex justify-between items-start mb-3 gap-2 flex-wrap">
@@ -75,16 +89,16 @@ const ClaimCard = ({ claim, idx, onTraceClick, isLocal }) => {
                             <h4 className="text-[8px] font-black uppercase text-slate-400 mb-1 flex items-center gap-1"><Sparkles className="w-2.5 h-2.5" /> Analysis Summary</h4>
                             <p className="text-[11px] font-medium text-slate-700 leading-normal">{claim.fraudAnalysis}</p>
                         </div>
-                        {claim.fraudThought && (
+                        {detail?.fraudThought && (
                             <div className="pt-2 border-t border-slate-100/50">
                                 <h4 className="text-[8px] font-black uppercase text-indigo-400 mb-1 flex items-center gap-1"><Brain className="w-2.5 h-2.5" /> Agent Chain of Thought</h4>
-                                <p className="text-[10px] text-indigo-900/70 leading-relaxed italic">{claim.fraudThought}</p>
+                                <p className="text-[10px] text-indigo-900/70 leading-relaxed italic">{detail.fraudThought}</p>
                             </div>
                         )}
-                        {claim.fraudRationale && (
+                        {detail?.fraudRationale && (
                             <div className="pt-2 border-t border-slate-100/50">
                                 <h4 className="text-[8px] font-black uppercase text-slate-400 mb-1 flex items-center gap-1"><Info className="w-2.5 h-2.5" /> Calculation Rationale</h4>
-                                <p className="text-[10px] text-slate-500 leading-relaxed italic">{claim.fraudRationale}</p>
+                                <p className="text-[10px] text-slate-500 leading-relaxed italic">{detail.fraudRationale}</p>
                             </div>
                         )}
                         <div className="flex items-center gap-2 pt-1">
@@ -37,11 +37,51 @@ export const useClaims = () => {
         }
     }, []);
 
-    // Polling for updates
+    // Lets the SSE handlers tell known claims from new ones without re-subscribing on every change
+    const claimsRef = useRef(claims);
+    claimsRef.current = claims;
+
+    // Enrichment progress is pushed over SSE and applied in place; polling is only a slow fallback
     useEffect(() => {
-        const timer = setInterval(() => fetchClaims(true), 3000);
-        return () => clearInterval(timer);
-    }, [fetchClaims]);
+        const events = claimsApi.subscribeClaimEvents();
+        let refetch = null;
+        const applyStageEvent = (e) => {
+            const { claimId, enrichmentStatus, summary, fraudScore, fraudAnalysis } = JSON.parse(e.data);
+            if (!claimsRef.current.some(c => c.id === claimId)) {
+                // A claim this client has not listed yet; one list GET covers a burst of them
+                if (!refetch) {
+                    refetch = setTimeout(() => {
+                        refetch = null;
+                        fetchClaims(true);
+                    }, 500);
+                }
+                return;
+            }
+            setClaims(prev => prev.map(c => (c.id !== claimId ? c : {
+                ...c,
+                enrichmentStatus: enrichmentStatus ?? c.enrichmentStatus,
+                summary: summary ?? c.summary,
+                // Earlier stages carry no score yet; keep a streamed one until the final result lands
+                fraudScore: fraudScore != null && fraudScore >= 0 ? fraudScore : c.fraudScore,
+                fraudAnalysis: fraudAnalysis ?? c.fraudAnalysis
+            })));
+        };
+        ['enrichment.started', 'summarization.complete', 'vector.sync.complete', 'near.duplicate.detected',
+            'agentic.rag.complete', 'enrichment.failed', 'enrichment.deferred']
+            .forEach(stage => events.addEventListener(stage, applyStageEvent));
+        // Provisional score from a still-streaming analysis; not in the database yet
+        events.addEventListener('fraud.score.available', (e) => {
+            applyStageEvent(e);
+            const { claimId, fraudScore } = JSON.parse(e.data);
+            addLog(`AGENT: Risk score ${fraudScore} streamed for claim #${claimId}`, "system");
+        });
+        const timer = setInterval(() => fetchClaims(true), 30000);
+        return () => {
+            events.close();
+            clearInterval(timer);
+            clearTimeout(refetch);
+        };
+    }, [fetchClaims, addLog]);
 
     // Pipeline Orchestration
     useEffect(() => {
@@ -22,6 +22,8 @@ const api = axios.create({
 
 export const claimsApi = {
     getClaims: () => api.get('/claims'),
+    getClaim: (id) => api.get(`/claims/${id}`),
+    subscribeClaimEvents: () => new EventSource(`${API_BASE}/claims/events`),
     createClaim: (data) => api.post('/claims', data),
     getAiConfig: () => api.get('/config/ai-provider'),
     setAiConfig: (data) => api.post('/config/ai-provider', data),